@@ -0,0 +1,6 @@
+-- V20: Optimistic-lock versions on rule child tables
+-- Lets the rule snapshot detect tier, suppression and client config edits made by other instances
+
+ALTER TABLE hcc_stratification_tier ADD COLUMN version INT DEFAULT 1;
+ALTER TABLE hcc_suppression_config ADD COLUMN version INT DEFAULT 1;
+ALTER TABLE hcc_client_config ADD COLUMN version INT DEFAULT 1;
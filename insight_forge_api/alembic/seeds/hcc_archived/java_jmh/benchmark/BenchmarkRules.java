@@ -0,0 +1,129 @@
+package com.algoaccel.hcc.benchmark;
+
+import com.algoaccel.hcc.model.HccSuppressionConfig;
+import com.algoaccel.hcc.model.HccSuspectRule;
+import com.algoaccel.hcc.model.StratificationTier;
+import com.algoaccel.hcc.model.enums.HccModelType;
+import com.algoaccel.hcc.model.enums.HccRuleStatus;
+import com.algoaccel.hcc.model.enums.TierType;
+
+/**
+ * The V17 HIV/AIDS rule and the V18 CKD Stage 3 rule as unsaved entities, for compiling in benchmarks.
+ */
+public final class BenchmarkRules {
+
+    public static final long HIV_RULE_ID = 1L;
+    public static final long CKD3_RULE_ID = 2L;
+
+    private static final String SUPPRESSION_STATES =
+            "[\"Fully Validated\", \"Needs Administrative Attention\", \"Needs Clinical and Administrative Attention\"]";
+
+    private static final String HIV_HS_CRITERIA = """
+            [
+              {"branchId": "hs-branch-1-two-positive-tests", "logic": "AND", "criteria": [
+                {"type": "LAB", "conceptAlias": "HIV_TEST_POSITIVE_CLIN", "qualifier": "POSITIVE",
+                 "minOccurrences": 2, "requireSeparateDates": true}]},
+              {"branchId": "hs-branch-2-combination-art", "logic": "OR", "criteria": [
+                {"type": "MEDICATION", "conceptAlias": "BICTEGRAVIR_EMTRICITABINE_TENOFOVIR_MED", "combinationType": "COMBINATION"},
+                {"type": "MEDICATION", "conceptAlias": "DOLUTEGRAVIR_ABACAVIR_LAMIVUDINE_MED", "combinationType": "COMBINATION"},
+                {"type": "MEDICATION", "conceptAlias": "EFAVIRENZ_EMTRICITABINE_TENOFOVIR_MED", "combinationType": "COMBINATION"}]},
+              {"branchId": "hs-branch-3-test-plus-component", "logic": "AND", "criteria": [
+                {"type": "LAB", "conceptAlias": "HIV_TEST_POSITIVE_CLIN", "qualifier": "POSITIVE"},
+                {"type": "MEDICATION", "conceptAlias": "EMTRICITABINE_MED", "combinationType": "COMPONENT"}]},
+              {"branchId": "hs-branch-3b-test-plus-component-alt", "logic": "AND", "criteria": [
+                {"type": "LAB", "conceptAlias": "HIV_TEST_NON_RAPID_QUANTITATIVE_OBSTYPE", "qualifier": "POSITIVE"},
+                {"type": "MEDICATION", "conceptAlias": "DOLUTEGRAVIR_MED", "combinationType": "COMPONENT"}]},
+              {"branchId": "hs-branch-3c-test-plus-component-abacavir", "logic": "AND", "criteria": [
+                {"type": "LAB", "conceptAlias": "HIV_TEST_POSITIVE_CLIN", "qualifier": "POSITIVE"},
+                {"type": "MEDICATION", "conceptAlias": "ABACAVIR_MED", "combinationType": "COMPONENT"}]},
+              {"branchId": "hs-branch-3d-test-plus-component-raltegravir", "logic": "AND", "criteria": [
+                {"type": "LAB", "conceptAlias": "HIV_TEST_NON_RAPID_QUANTITATIVE_OBSTYPE", "qualifier": "POSITIVE"},
+                {"type": "MEDICATION", "conceptAlias": "RALTEGRAVIR_MED", "combinationType": "COMPONENT"}]},
+              {"branchId": "hs-branch-3e-test-plus-component-darunavir", "logic": "AND", "criteria": [
+                {"type": "LAB", "conceptAlias": "HIV_TEST_POSITIVE_CLIN", "qualifier": "POSITIVE"},
+                {"type": "MEDICATION", "conceptAlias": "DARUNAVIR_MED", "combinationType": "COMPONENT"}]}
+            ]
+            """;
+
+    private static final String HIV_MS_CRITERIA = """
+            [
+              {"branchId": "ms-branch-1-test-plus-lamivudine", "logic": "AND", "criteria": [
+                {"type": "LAB", "conceptAlias": "HIV_TEST_POSITIVE_CLIN", "qualifier": "POSITIVE"},
+                {"type": "MEDICATION", "conceptAlias": "LAMIVUDINE_MED", "combinationType": "COMPONENT"}]},
+              {"branchId": "ms-branch-2-test-plus-tenofovir", "logic": "AND", "criteria": [
+                {"type": "LAB", "conceptAlias": "HIV_TEST_NON_RAPID_QUANTITATIVE_OBSTYPE", "qualifier": "POSITIVE"},
+                {"type": "MEDICATION", "conceptAlias": "TENOFOVIR_MED", "combinationType": "COMPONENT"}]}
+            ]
+            """;
+
+    private static final String CKD3_HS_CRITERIA = """
+            [
+              {"branchId": "ckd3-hs-egfr-temporal", "logic": "AND", "criteria": [
+                {"type": "LAB", "conceptAlias": "EGFR_CLIN", "resultSelector": "MOST_RECENT", "qualifier": "RANGE",
+                 "rangeMin": 30, "rangeMax": 60, "rangeMinInclusive": true, "rangeMaxInclusive": false,
+                 "captureAs": "mostRecentQualifying"},
+                {"type": "LAB", "conceptAlias": "EGFR_CLIN", "qualifier": "LESS_THAN", "threshold": 60,
+                 "captureAs": "additionalQualifying",
+                 "temporalConstraint": {"relativeTo": "mostRecentQualifying", "operator": "BEFORE", "minDays": 90}},
+                {"type": "LAB", "conceptAlias": "EGFR_CLIN", "qualifier": "GREATER_THAN_OR_EQUAL", "threshold": 60,
+                 "negate": true,
+                 "temporalConstraint": {"after": "additionalQualifying", "before": "mostRecentQualifying"}}]}
+            ]
+            """;
+
+    private BenchmarkRules() {
+    }
+
+    public static HccSuspectRule hivRule() {
+        HccSuspectRule rule = HccSuspectRule.builder()
+                .id(HIV_RULE_ID)
+                .name("HIV/AIDS Suspecting Rule")
+                .hccCategory("HCC 1")
+                .conditionName("HIV/AIDS")
+                .status(HccRuleStatus.PUBLISHED)
+                .modelYear("v28")
+                .build();
+        rule.getTiers().add(tier(rule, 11L, TierType.HIGHLY_SUSPECTED, HIV_HS_CRITERIA));
+        rule.getTiers().add(tier(rule, 12L, TierType.MODERATELY_SUSPECTED, HIV_MS_CRITERIA));
+        for (HccModelType modelType : HccModelType.values()) {
+            rule.getSuppressionConfigs().add(suppression(rule, modelType, "HCC 1"));
+        }
+        return rule;
+    }
+
+    /**
+     * CKD Stage 3 with all three models enabled, so per-model work is measured too.
+     */
+    public static HccSuspectRule ckdStage3Rule() {
+        HccSuspectRule rule = HccSuspectRule.builder()
+                .id(CKD3_RULE_ID)
+                .name("CKD Stage 3 Suspecting Rule")
+                .hccCategory("HCC 326")
+                .conditionName("Chronic Kidney Disease Stage 3")
+                .status(HccRuleStatus.PUBLISHED)
+                .modelYear("v28")
+                .build();
+        rule.getTiers().add(tier(rule, 21L, TierType.HIGHLY_SUSPECTED, CKD3_HS_CRITERIA));
+        rule.getSuppressionConfigs().add(suppression(rule, HccModelType.ESRD, "HCC 326"));
+        return rule;
+    }
+
+    private static StratificationTier tier(HccSuspectRule rule, Long id, TierType tierType, String criteriaJson) {
+        return StratificationTier.builder()
+                .id(id)
+                .rule(rule)
+                .tierType(tierType)
+                .minimumBranchesRequired(1)
+                .criteriaJson(criteriaJson)
+                .build();
+    }
+
+    private static HccSuppressionConfig suppression(HccSuspectRule rule, HccModelType modelType, String targetHcc) {
+        return HccSuppressionConfig.builder()
+                .rule(rule)
+                .modelType(modelType)
+                .targetHcc(targetHcc)
+                .suppressionStates(SUPPRESSION_STATES)
+                .build();
+    }
+}
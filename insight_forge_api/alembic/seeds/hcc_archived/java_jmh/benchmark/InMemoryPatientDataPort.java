@@ -0,0 +1,172 @@
+package com.algoaccel.hcc.benchmark;
+
+import com.algoaccel.hcc.dto.DiagnosisDto;
+import com.algoaccel.hcc.dto.HccSuppressionStatusDto;
+import com.algoaccel.hcc.dto.LabResultDto;
+import com.algoaccel.hcc.dto.MedicationOrderDto;
+import com.algoaccel.hcc.model.HccRuleRejectionState;
+import com.algoaccel.hcc.model.HccSuppressionConfig;
+import com.algoaccel.hcc.port.PatientDataPort;
+import com.algoaccel.hcc.port.PatientIdCursor;
+import com.algoaccel.hcc.port.PatientIdRange;
+
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * PatientDataPort over in-memory synthetic patients, so benchmarks measure the evaluator
+ * rather than H2. Suppression uses the same default validated states as H2PatientDataAdapter.
+ */
+public class InMemoryPatientDataPort implements PatientDataPort {
+
+    private final Map<String, List<LabResultDto>> labsByPatient = new LinkedHashMap<>();
+    private final Map<String, List<MedicationOrderDto>> medicationsByPatient = new LinkedHashMap<>();
+    private final Map<String, List<DiagnosisDto>> diagnosesByPatient = new LinkedHashMap<>();
+    private final Map<String, HccRuleRejectionState> rejections = new HashMap<>();
+
+    public void addPatient(SyntheticPatients.Patient patient) {
+        labsByPatient.put(patient.patientId(), patient.labs());
+        medicationsByPatient.put(patient.patientId(), patient.medications());
+        diagnosesByPatient.put(patient.patientId(), patient.diagnoses());
+    }
+
+    public void addRejection(HccRuleRejectionState state) {
+        rejections.put(rejectionKey(state.getPatientId(), state.getRuleId(), state.getModelType().name()), state);
+    }
+
+    @Override
+    public List<LabResultDto> getLabResults(String patientId, String conceptAlias, LocalDate windowStart, LocalDate windowEnd) {
+        return getLabResults(patientId, List.of(conceptAlias), windowStart, windowEnd);
+    }
+
+    @Override
+    public List<LabResultDto> getLabResults(String patientId, List<String> conceptAliases, LocalDate windowStart, LocalDate windowEnd) {
+        List<LabResultDto> result = new ArrayList<>();
+        for (LabResultDto lab : labsByPatient.getOrDefault(patientId, List.of())) {
+            if (conceptAliases.contains(lab.getConceptAlias()) && within(lab.getResultDate(), windowStart, windowEnd)) {
+                result.add(lab);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public List<MedicationOrderDto> getMedicationOrders(String patientId, List<String> conceptAliases, LocalDate windowStart, LocalDate windowEnd) {
+        List<MedicationOrderDto> result = new ArrayList<>();
+        for (MedicationOrderDto med : medicationsByPatient.getOrDefault(patientId, List.of())) {
+            if (conceptAliases.contains(med.getConceptAlias()) && within(med.getStartDate(), windowStart, windowEnd)) {
+                result.add(med);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public List<DiagnosisDto> getDiagnoses(String patientId, String modelType) {
+        List<DiagnosisDto> result = new ArrayList<>();
+        for (DiagnosisDto diagnosis : diagnosesByPatient.getOrDefault(patientId, List.of())) {
+            if (modelType.equals(diagnosis.getModelType())) {
+                result.add(diagnosis);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public Optional<HccSuppressionStatusDto> getSuppressionStatus(String patientId, String targetHcc, String modelType) {
+        for (DiagnosisDto diagnosis : getDiagnoses(patientId, modelType)) {
+            if (targetHcc.equals(diagnosis.getHccCategory())) {
+                return Optional.of(HccSuppressionStatusDto.builder()
+                        .patientId(patientId)
+                        .targetHcc(targetHcc)
+                        .modelType(modelType)
+                        .status(diagnosis.getSuppressionStatus())
+                        .isSuppressed(HccSuppressionConfig.DEFAULT_SUPPRESSION_STATES.contains(diagnosis.getSuppressionStatus()))
+                        .build());
+            }
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public List<HccSuppressionStatusDto> getSuppressionStatuses(String targetHcc) {
+        List<HccSuppressionStatusDto> result = new ArrayList<>();
+        for (List<DiagnosisDto> diagnoses : diagnosesByPatient.values()) {
+            for (DiagnosisDto diagnosis : diagnoses) {
+                if (targetHcc.equals(diagnosis.getHccCategory())) {
+                    result.add(HccSuppressionStatusDto.builder()
+                            .patientId(diagnosis.getPatientId())
+                            .targetHcc(targetHcc)
+                            .modelType(diagnosis.getModelType())
+                            .status(diagnosis.getSuppressionStatus())
+                            .isSuppressed(HccSuppressionConfig.DEFAULT_SUPPRESSION_STATES.contains(diagnosis.getSuppressionStatus()))
+                            .build());
+                }
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public Optional<HccRuleRejectionState> getRejectionState(String patientId, Long ruleId, String modelType) {
+        return Optional.ofNullable(rejections.get(rejectionKey(patientId, ruleId, modelType)));
+    }
+
+    @Override
+    public List<HccRuleRejectionState> getRejectionStates(Long ruleId) {
+        List<HccRuleRejectionState> result = new ArrayList<>();
+        for (HccRuleRejectionState state : rejections.values()) {
+            if (ruleId.equals(state.getRuleId())) {
+                result.add(state);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public List<LabResultDto> getLabResultsForPatients(List<String> patientIds, List<String> conceptAliases, LocalDate windowStart, LocalDate windowEnd) {
+        List<LabResultDto> result = new ArrayList<>();
+        for (String patientId : patientIds) {
+            result.addAll(getLabResults(patientId, conceptAliases, windowStart, windowEnd));
+        }
+        return result;
+    }
+
+    @Override
+    public List<MedicationOrderDto> getMedicationOrdersForPatients(List<String> patientIds, List<String> conceptAliases, LocalDate windowStart, LocalDate windowEnd) {
+        List<MedicationOrderDto> result = new ArrayList<>();
+        for (String patientId : patientIds) {
+            result.addAll(getMedicationOrders(patientId, conceptAliases, windowStart, windowEnd));
+        }
+        return result;
+    }
+
+    @Override
+    public List<DiagnosisDto> getDiagnosesForPatients(List<String> patientIds, String modelType) {
+        List<DiagnosisDto> result = new ArrayList<>();
+        for (String patientId : patientIds) {
+            result.addAll(getDiagnoses(patientId, modelType));
+        }
+        return result;
+    }
+
+    @Override
+    public PatientIdCursor streamPatientIds(PatientIdRange range) {
+        return PatientIdCursor.of(new TreeSet<>(labsByPatient.keySet()).stream()
+                .filter(range::contains)
+                .iterator());
+    }
+
+    @Override
+    public long countPatientIds(PatientIdRange range) {
+        return labsByPatient.keySet().stream().filter(range::contains).count();
+    }
+
+    private static boolean within(LocalDate date, LocalDate start, LocalDate end) {
+        return !date.isBefore(start) && !date.isAfter(end);
+    }
+
+    private static String rejectionKey(String patientId, Long ruleId, String modelType) {
+        return patientId + "|" + ruleId + "|" + modelType;
+    }
+}
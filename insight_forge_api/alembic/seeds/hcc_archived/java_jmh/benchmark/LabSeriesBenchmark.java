@@ -0,0 +1,98 @@
+package com.algoaccel.hcc.benchmark;
+
+import com.algoaccel.hcc.dto.LabResultDto;
+import com.algoaccel.hcc.engine.CompiledCriterion;
+import com.algoaccel.hcc.engine.CompiledRule;
+import com.algoaccel.hcc.engine.LabSeries;
+import com.algoaccel.hcc.engine.RuleCompiler;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Criterion primitives over one CKD patient's eGFR series: building the series, MOST_RECENT / FIRST
+ * selection, threshold and range qualifiers, and the bounded lookups behind temporal constraints.
+ * Criteria come from the compiled V18 CKD Stage 3 branch.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LabSeriesBenchmark {
+
+    @Param({"SMALL", "MEDIUM", "LARGE"})
+    public SyntheticPatients.Volume volume;
+
+    private List<LabResultDto> labs;
+    private LabSeries series;
+    private CompiledCriterion rangeCriterion;
+    private CompiledCriterion lessThanCriterion;
+    private CompiledCriterion recoveryCriterion;
+    private int lo;
+    private int hi;
+    private int referenceDay;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        CompiledRule rule = new RuleCompiler(new ObjectMapper()).compileRule(BenchmarkRules.ckdStage3Rule());
+        List<CompiledCriterion> criteria = rule.highlySuspected().branches().get(0).criteria();
+        rangeCriterion = criteria.get(0);
+        lessThanCriterion = criteria.get(1);
+        recoveryCriterion = criteria.get(2);
+
+        labs = new SyntheticPatients(7L, SuspectEvaluationBenchmark.WINDOW_END)
+                .ckdPatient("CKD000001", volume).labs();
+        series = LabSeries.of(labs);
+        lo = series.lowerBound((int) rule.windowStart(SuspectEvaluationBenchmark.WINDOW_END).toEpochDay());
+        hi = series.upperBound((int) SuspectEvaluationBenchmark.WINDOW_END.toEpochDay());
+        referenceDay = series.epochDay(hi - 1);
+    }
+
+    @Benchmark
+    public LabSeries buildSeries() {
+        return LabSeries.of(labs);
+    }
+
+    @Benchmark
+    public boolean selectMostRecentInRange() {
+        return series.matches(hi - 1, rangeCriterion);
+    }
+
+    @Benchmark
+    public boolean selectFirstInRange() {
+        return series.matches(lo, rangeCriterion);
+    }
+
+    @Benchmark
+    public int anyRange() {
+        return series.lastMatch(rangeCriterion, lo, hi);
+    }
+
+    @Benchmark
+    public int anyThreshold() {
+        return series.lastMatch(lessThanCriterion, lo, hi);
+    }
+
+    /**
+     * "eGFR < 60 at least 90 days before the most recent result."
+     */
+    @Benchmark
+    public int relativeBefore() {
+        int bound = Math.min(hi, series.upperBound(referenceDay - 90));
+        return series.lastMatch(lessThanCriterion, lo, bound);
+    }
+
+    /**
+     * Negated "no eGFR >= 60 strictly between" a result a year back and the most recent one.
+     */
+    @Benchmark
+    public boolean noRecoveryBetween() {
+        int after = Math.max(lo, series.upperBound(referenceDay - 365));
+        int before = Math.min(hi, series.lowerBound(referenceDay));
+        return series.lastMatch(recoveryCriterion, after, before) < 0;
+    }
+}
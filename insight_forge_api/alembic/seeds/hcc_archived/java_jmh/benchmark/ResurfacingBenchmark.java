@@ -0,0 +1,77 @@
+package com.algoaccel.hcc.benchmark;
+
+import com.algoaccel.hcc.model.HccRuleRejectionState;
+import com.algoaccel.hcc.model.enums.HccModelType;
+import com.algoaccel.hcc.service.RejectionResurfacingService;
+import com.algoaccel.hcc.service.RejectionStateCache;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RejectionResurfacingService.shouldSurface for the V16/V17 scenarios: no rejection, a rejection
+ * with the same triggering medication (PAT024), and one with a different medication (PAT025).
+ * The snapshot variants answer from a loaded RejectionSnapshot instead of the port.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResurfacingBenchmark {
+
+    private RejectionResurfacingService resurfacingService;
+    private RejectionResurfacingService snapshotResurfacingService;
+    private List<String> sameConcept;
+    private List<String> differentConcept;
+    private List<String> refillConcept;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        InMemoryPatientDataPort port = new InMemoryPatientDataPort();
+        for (String patientId : List.of("PAT024", "PAT025")) {
+            port.addRejection(HccRuleRejectionState.builder()
+                    .patientId(patientId)
+                    .ruleId(BenchmarkRules.HIV_RULE_ID)
+                    .modelType(HccModelType.CMS)
+                    .rejectedAt(LocalDate.of(2026, 1, 15))
+                    .lastTriggeringConceptAlias("LAMIVUDINE_MED")
+                    .build());
+        }
+        resurfacingService = new RejectionResurfacingService(port, new RejectionStateCache(port));
+        RejectionStateCache loadedCache = new RejectionStateCache(port);
+        loadedCache.load(BenchmarkRules.HIV_RULE_ID);
+        snapshotResurfacingService = new RejectionResurfacingService(port, loadedCache);
+        sameConcept = List.of("HIV_TEST_POSITIVE_CLIN", "LAMIVUDINE_MED");
+        differentConcept = List.of("BICTEGRAVIR_EMTRICITABINE_TENOFOVIR_MED");
+        refillConcept = List.of("LAMIVUDINE_MED");
+    }
+
+    @Benchmark
+    public boolean noPriorRejection() {
+        return resurfacingService.shouldSurface("PAT001", BenchmarkRules.HIV_RULE_ID, "CMS", sameConcept);
+    }
+
+    @Benchmark
+    public boolean rejectedSameConcept() {
+        return resurfacingService.shouldSurface("PAT024", BenchmarkRules.HIV_RULE_ID, "CMS", refillConcept);
+    }
+
+    @Benchmark
+    public boolean rejectedDifferentConcept() {
+        return resurfacingService.shouldSurface("PAT025", BenchmarkRules.HIV_RULE_ID, "CMS", differentConcept);
+    }
+
+    @Benchmark
+    public boolean noPriorRejectionFromSnapshot() {
+        return snapshotResurfacingService.shouldSurface("PAT001", BenchmarkRules.HIV_RULE_ID, "CMS", sameConcept);
+    }
+
+    @Benchmark
+    public boolean rejectedSameConceptFromSnapshot() {
+        return snapshotResurfacingService.shouldSurface("PAT024", BenchmarkRules.HIV_RULE_ID, "CMS", refillConcept);
+    }
+}
@@ -0,0 +1,126 @@
+package com.algoaccel.hcc.benchmark;
+
+import com.algoaccel.hcc.engine.CompiledRule;
+import com.algoaccel.hcc.engine.EvaluationMetrics;
+import com.algoaccel.hcc.engine.EvidenceLoader;
+import com.algoaccel.hcc.engine.PatientEvidence;
+import com.algoaccel.hcc.engine.RuleCompiler;
+import com.algoaccel.hcc.model.enums.HccModelType;
+import com.algoaccel.hcc.service.RejectionResurfacingService;
+import com.algoaccel.hcc.service.RejectionStateCache;
+import com.algoaccel.hcc.service.SuspectEvaluationService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SuspectEvaluationService benchmarks over synthetic HIV (V16) and CKD (V19) patients.
+ *
+ * End-to-end benchmarks fetch evidence lazily through the port, as a single GET /evaluate does.
+ * Tier and branch benchmarks use prefetched evidence and single-model rules without suppression,
+ * so only tier evaluation (HIV HS: seven branches) or the CKD temporal branch is measured.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SuspectEvaluationBenchmark {
+
+    static final LocalDate WINDOW_END = LocalDate.of(2026, 3, 31);
+    private static final int PATIENTS = 64;
+
+    @Param({"SMALL", "MEDIUM", "LARGE"})
+    public SyntheticPatients.Volume volume;
+
+    private SuspectEvaluationService evaluationService;
+    private EvidenceLoader evidenceLoader;
+    private CompiledRule hivRule;
+    private CompiledRule ckdRule;
+    private CompiledRule hivTierOnly;
+    private CompiledRule ckdBranchOnly;
+    private String[] hivPatientIds;
+    private String[] ckdPatientIds;
+    private PatientEvidence[] hivEvidence;
+    private PatientEvidence[] ckdEvidence;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        InMemoryPatientDataPort port = new InMemoryPatientDataPort();
+        RuleCompiler ruleCompiler = new RuleCompiler(new ObjectMapper());
+        evidenceLoader = new EvidenceLoader(port);
+        evaluationService = new SuspectEvaluationService(
+                null, new RejectionResurfacingService(port, new RejectionStateCache(port)), port, null, null, evidenceLoader,
+                new EvaluationMetrics(new SimpleMeterRegistry()));
+
+        hivRule = ruleCompiler.compileRule(BenchmarkRules.hivRule());
+        ckdRule = ruleCompiler.compileRule(BenchmarkRules.ckdStage3Rule());
+        hivTierOnly = singleTier(hivRule);
+        ckdBranchOnly = singleTier(ckdRule);
+
+        SyntheticPatients generator = new SyntheticPatients(42L, WINDOW_END);
+        hivPatientIds = new String[PATIENTS];
+        ckdPatientIds = new String[PATIENTS];
+        hivEvidence = new PatientEvidence[PATIENTS];
+        ckdEvidence = new PatientEvidence[PATIENTS];
+        for (int i = 0; i < PATIENTS; i++) {
+            hivPatientIds[i] = String.format("PAT%06d", i);
+            ckdPatientIds[i] = String.format("CKD%06d", i);
+            port.addPatient(generator.hivPatient(hivPatientIds[i], volume));
+            port.addPatient(generator.ckdPatient(ckdPatientIds[i], volume));
+        }
+        for (int i = 0; i < PATIENTS; i++) {
+            hivEvidence[i] = evidenceLoader.load(hivPatientIds[i], hivRule.footprint(),
+                    hivRule.windowStart(WINDOW_END), WINDOW_END);
+            ckdEvidence[i] = evidenceLoader.load(ckdPatientIds[i], ckdRule.footprint(),
+                    ckdRule.windowStart(WINDOW_END), WINDOW_END);
+        }
+    }
+
+    @Benchmark
+    public Object evaluateHivEndToEnd() {
+        String patientId = hivPatientIds[next()];
+        PatientEvidence evidence = evidenceLoader.lazy(patientId, hivRule.windowStart(WINDOW_END), WINDOW_END);
+        return evaluationService.evaluate(patientId, hivRule, evidence, WINDOW_END);
+    }
+
+    @Benchmark
+    public Object evaluateCkdEndToEnd() {
+        String patientId = ckdPatientIds[next()];
+        PatientEvidence evidence = evidenceLoader.lazy(patientId, ckdRule.windowStart(WINDOW_END), WINDOW_END);
+        return evaluationService.evaluate(patientId, ckdRule, evidence, WINDOW_END);
+    }
+
+    @Benchmark
+    public Object hivTierEvaluation() {
+        int i = next();
+        return evaluationService.evaluate(hivPatientIds[i], hivTierOnly, hivEvidence[i], WINDOW_END);
+    }
+
+    @Benchmark
+    public Object ckdBranchTemporalLogic() {
+        int i = next();
+        return evaluationService.evaluate(ckdPatientIds[i], ckdBranchOnly, ckdEvidence[i], WINDOW_END);
+    }
+
+    private int next() {
+        cursor = (cursor + 1) % PATIENTS;
+        return cursor;
+    }
+
+    /**
+     * The rule's HS tier alone, for the CMS model only, with no suppression or resurfacing.
+     */
+    private static CompiledRule singleTier(CompiledRule rule) {
+        return new CompiledRule(rule.ruleId(), rule.version(), rule.name(), rule.hccCategory(),
+                rule.conditionName(), rule.lookbackYears(), Set.of(HccModelType.CMS), Map.of(),
+                rule.highlySuspected(), null, rule.footprint());
+    }
+}
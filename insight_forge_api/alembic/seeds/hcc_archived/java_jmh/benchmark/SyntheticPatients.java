@@ -0,0 +1,131 @@
+package com.algoaccel.hcc.benchmark;
+
+import com.algoaccel.hcc.dto.DiagnosisDto;
+import com.algoaccel.hcc.dto.LabResultDto;
+import com.algoaccel.hcc.dto.MedicationOrderDto;
+import com.algoaccel.hcc.model.enums.CombinationType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Seeded synthetic patients shaped like the V16 (HIV) and V19 (CKD) seed patients, at a chosen
+ * evidence volume. The same seed always produces the same patients.
+ */
+public final class SyntheticPatients {
+
+    /**
+     * Results per concept alias over the two-year lookback window.
+     * SMALL matches the seed data; LARGE is a patient with years of dialysis-era eGFR history.
+     */
+    public enum Volume {
+        SMALL(2),
+        MEDIUM(48),
+        LARGE(1500);
+
+        private final int resultsPerAlias;
+
+        Volume(int resultsPerAlias) {
+            this.resultsPerAlias = resultsPerAlias;
+        }
+
+        public int resultsPerAlias() {
+            return resultsPerAlias;
+        }
+    }
+
+    public record Patient(
+            String patientId,
+            List<LabResultDto> labs,
+            List<MedicationOrderDto> medications,
+            List<DiagnosisDto> diagnoses) {
+    }
+
+    private static final int LOOKBACK_DAYS = 700;
+
+    private static final String[] HIV_COMPONENT_MEDS = {
+            "EMTRICITABINE_MED", "DOLUTEGRAVIR_MED", "ABACAVIR_MED", "RALTEGRAVIR_MED",
+            "DARUNAVIR_MED", "LAMIVUDINE_MED", "TENOFOVIR_MED"
+    };
+
+    private final SplittableRandom random;
+    private final LocalDate windowEnd;
+
+    public SyntheticPatients(long seed, LocalDate windowEnd) {
+        this.random = new SplittableRandom(seed);
+        this.windowEnd = windowEnd;
+    }
+
+    /**
+     * An HIV patient (V16): mostly negative tests with a positive one, component ART orders,
+     * and a validated HCC 1 diagnosis for one patient in ten.
+     */
+    public Patient hivPatient(String patientId, Volume volume) {
+        List<LabResultDto> labs = new ArrayList<>();
+        for (String alias : List.of("HIV_TEST_POSITIVE_CLIN", "HIV_TEST_NON_RAPID_QUANTITATIVE_OBSTYPE")) {
+            for (int i = 0; i < volume.resultsPerAlias(); i++) {
+                labs.add(LabResultDto.builder()
+                        .patientId(patientId)
+                        .conceptAlias(alias)
+                        .resultDate(randomDate())
+                        .qualitativeResult(random.nextInt(4) == 0 ? "POSITIVE" : "NEGATIVE")
+                        .build());
+            }
+        }
+
+        List<MedicationOrderDto> medications = new ArrayList<>();
+        int orders = Math.max(1, volume.resultsPerAlias() / 4);
+        for (int i = 0; i < orders; i++) {
+            medications.add(MedicationOrderDto.builder()
+                    .patientId(patientId)
+                    .conceptAlias(HIV_COMPONENT_MEDS[random.nextInt(HIV_COMPONENT_MEDS.length)])
+                    .startDate(randomDate())
+                    .combinationType(CombinationType.COMPONENT)
+                    .build());
+        }
+
+        return new Patient(patientId, labs, medications, diagnoses(patientId, "B20", "HCC 1"));
+    }
+
+    /**
+     * A CKD patient (V19): an eGFR series drifting through stage 3 with occasional recoveries
+     * to 60 or above, so the negated "no eGFR >= 60 between" check has work to do.
+     */
+    public Patient ckdPatient(String patientId, Volume volume) {
+        List<LabResultDto> labs = new ArrayList<>();
+        for (int i = 0; i < volume.resultsPerAlias(); i++) {
+            double egfr = random.nextInt(10) == 0
+                    ? 60 + random.nextDouble() * 15
+                    : 25 + random.nextDouble() * 35;
+            labs.add(LabResultDto.builder()
+                    .patientId(patientId)
+                    .conceptAlias("EGFR_CLIN")
+                    .resultDate(randomDate())
+                    .quantitativeResult(BigDecimal.valueOf(Math.round(egfr * 100) / 100.0))
+                    .build());
+        }
+        return new Patient(patientId, labs, List.of(), diagnoses(patientId, "N18.30", "HCC 326"));
+    }
+
+    private List<DiagnosisDto> diagnoses(String patientId, String icdCode, String hccCategory) {
+        if (random.nextInt(10) != 0) {
+            return List.of();
+        }
+        List<DiagnosisDto> diagnoses = new ArrayList<>();
+        for (String modelType : List.of("CMS", "HHS", "ESRD")) {
+            diagnoses.add(DiagnosisDto.builder()
+                    .patientId(patientId)
+                    .icdCode(icdCode)
+                    .hccCategory(hccCategory)
+                    .modelType(modelType)
+                    .suppressionStatus("Fully Validated")
+                    .build());
+        }
+        return diagnoses;
+    }
+
+    private LocalDate randomDate() {
+        return windowEnd.minusDays(random.nextInt(LOOKBACK_DAYS));
+    }
+}
@@ -4,17 +4,23 @@ import com.algoaccel.hcc.dto.DiagnosisDto;
 import com.algoaccel.hcc.dto.HccSuppressionStatusDto;
 import com.algoaccel.hcc.dto.LabResultDto;
 import com.algoaccel.hcc.dto.MedicationOrderDto;
+import com.algoaccel.hcc.config.HccBatchProperties;
 import com.algoaccel.hcc.model.HccDiagnosis;
 import com.algoaccel.hcc.model.HccLabResult;
 import com.algoaccel.hcc.model.HccMedicationOrder;
 import com.algoaccel.hcc.model.HccRuleRejectionState;
+import com.algoaccel.hcc.model.HccSuppressionConfig;
 import com.algoaccel.hcc.model.enums.HccModelType;
 import com.algoaccel.hcc.port.PatientDataPort;
+import com.algoaccel.hcc.port.PatientIdCursor;
+import com.algoaccel.hcc.port.PatientIdRange;
 import com.algoaccel.hcc.repository.*;
 import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -32,6 +38,8 @@ public class H2PatientDataAdapter implements PatientDataPort {
     private final HccMedicationOrderRepository medicationOrderRepository;
     private final HccDiagnosisRepository diagnosisRepository;
     private final HccRuleRejectionStateRepository rejectionStateRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final HccBatchProperties batchProperties;
 
     @Override
     public List<LabResultDto> getLabResults(String patientId, String conceptAlias, LocalDate windowStart, LocalDate windowEnd) {
@@ -39,13 +47,17 @@ public class H2PatientDataAdapter implements PatientDataPort {
                 patientId, conceptAlias, windowStart, windowEnd);
 
         return results.stream()
-                .map(r -> LabResultDto.builder()
-                        .patientId(r.getPatientId())
-                        .conceptAlias(r.getConceptAlias())
-                        .resultDate(r.getResultDate())
-                        .qualitativeResult(r.getQualitativeResult())
-                        .quantitativeResult(r.getQuantitativeResult())
-                        .build())
+                .map(this::toLabResultDto)
+                .toList();
+    }
+
+    @Override
+    public List<LabResultDto> getLabResults(String patientId, List<String> conceptAliases, LocalDate windowStart, LocalDate windowEnd) {
+        List<HccLabResult> results = labResultRepository.findByPatientIdAndConceptAliasInAndResultDateBetween(
+                patientId, conceptAliases, windowStart, windowEnd);
+
+        return results.stream()
+                .map(this::toLabResultDto)
                 .toList();
     }
 
@@ -55,12 +67,7 @@ public class H2PatientDataAdapter implements PatientDataPort {
                 patientId, conceptAliases, windowStart, windowEnd);
 
         return orders.stream()
-                .map(o -> MedicationOrderDto.builder()
-                        .patientId(o.getPatientId())
-                        .conceptAlias(o.getConceptAlias())
-                        .startDate(o.getStartDate())
-                        .combinationType(o.getCombinationType())
-                        .build())
+                .map(this::toMedicationOrderDto)
                 .toList();
     }
 
@@ -70,13 +77,7 @@ public class H2PatientDataAdapter implements PatientDataPort {
         List<HccDiagnosis> diagnoses = diagnosisRepository.findByPatientIdAndModelType(patientId, model);
 
         return diagnoses.stream()
-                .map(d -> DiagnosisDto.builder()
-                        .patientId(d.getPatientId())
-                        .icdCode(d.getIcdCode())
-                        .hccCategory(d.getHccCategory())
-                        .modelType(d.getModelType().name())
-                        .suppressionStatus(d.getSuppressionStatus())
-                        .build())
+                .map(this::toDiagnosisDto)
                 .toList();
     }
 
@@ -95,6 +96,23 @@ public class H2PatientDataAdapter implements PatientDataPort {
                 .build());
     }
 
+    @Override
+    public List<HccSuppressionStatusDto> getSuppressionStatuses(String targetHcc) {
+        List<Object[]> rows = diagnosisRepository.findSuppressionStatusesByHccCategory(targetHcc);
+        List<HccSuppressionStatusDto> statuses = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            String status = (String) row[2];
+            statuses.add(HccSuppressionStatusDto.builder()
+                    .patientId((String) row[0])
+                    .targetHcc(targetHcc)
+                    .modelType(((HccModelType) row[1]).name())
+                    .status(status)
+                    .isSuppressed(isSuppressionStatus(status))
+                    .build());
+        }
+        return statuses;
+    }
+
     @Override
     public Optional<HccRuleRejectionState> getRejectionState(String patientId, Long ruleId, String modelType) {
         HccModelType model = HccModelType.valueOf(modelType);
@@ -102,20 +120,90 @@ public class H2PatientDataAdapter implements PatientDataPort {
     }
 
     @Override
-    public List<String> getAllPatientIds() {
-        return patientRepository.findAllPatientIds();
+    public List<HccRuleRejectionState> getRejectionStates(Long ruleId) {
+        // Projected rather than loaded as entities; these stay detached
+        List<Object[]> rows = rejectionStateRepository.findConceptsByRuleId(ruleId);
+        List<HccRuleRejectionState> states = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            states.add(HccRuleRejectionState.builder()
+                    .patientId((String) row[0])
+                    .ruleId(ruleId)
+                    .modelType((HccModelType) row[1])
+                    .lastTriggeringConceptAlias((String) row[2])
+                    .build());
+        }
+        return states;
+    }
+
+    @Override
+    public List<LabResultDto> getLabResultsForPatients(List<String> patientIds, List<String> conceptAliases, LocalDate windowStart, LocalDate windowEnd) {
+        return labResultRepository.findByPatientIdInAndConceptAliasInAndResultDateBetween(
+                        patientIds, conceptAliases, windowStart, windowEnd).stream()
+                .map(this::toLabResultDto)
+                .toList();
+    }
+
+    @Override
+    public List<MedicationOrderDto> getMedicationOrdersForPatients(List<String> patientIds, List<String> conceptAliases, LocalDate windowStart, LocalDate windowEnd) {
+        return medicationOrderRepository.findByPatientIdInAndConceptAliasInAndStartDateBetween(
+                        patientIds, conceptAliases, windowStart, windowEnd).stream()
+                .map(this::toMedicationOrderDto)
+                .toList();
+    }
+
+    @Override
+    public List<DiagnosisDto> getDiagnosesForPatients(List<String> patientIds, String modelType) {
+        HccModelType model = HccModelType.valueOf(modelType);
+        return diagnosisRepository.findByPatientIdInAndModelType(patientIds, model).stream()
+                .map(this::toDiagnosisDto)
+                .toList();
+    }
+
+    @Override
+    public PatientIdCursor streamPatientIds(PatientIdRange range) {
+        return new KeysetPatientIdCursor(jdbcTemplate, range,
+                batchProperties.getPatientIdPageSize(), batchProperties.getPatientIdFetchSize());
+    }
+
+    @Override
+    public long countPatientIds(PatientIdRange range) {
+        return patientRepository.countInRange(range.fromInclusive(), range.toExclusive());
+    }
+
+    private LabResultDto toLabResultDto(HccLabResult r) {
+        return LabResultDto.builder()
+                .patientId(r.getPatientId())
+                .conceptAlias(r.getConceptAlias())
+                .resultDate(r.getResultDate())
+                .qualitativeResult(r.getQualitativeResult())
+                .quantitativeResult(r.getQuantitativeResult())
+                .build();
+    }
+
+    private MedicationOrderDto toMedicationOrderDto(HccMedicationOrder o) {
+        return MedicationOrderDto.builder()
+                .patientId(o.getPatientId())
+                .conceptAlias(o.getConceptAlias())
+                .startDate(o.getStartDate())
+                .combinationType(o.getCombinationType())
+                .build();
+    }
+
+    private DiagnosisDto toDiagnosisDto(HccDiagnosis d) {
+        return DiagnosisDto.builder()
+                .patientId(d.getPatientId())
+                .icdCode(d.getIcdCode())
+                .hccCategory(d.getHccCategory())
+                .modelType(d.getModelType().name())
+                .suppressionStatus(d.getSuppressionStatus())
+                .build();
     }
 
     /**
-     * Determines if a suppression status indicates the condition is suppressed.
+     * Determines if a suppression status is one of the default validated states.
+     * The evaluator decides with the rule's own suppression states instead.
      */
     private boolean isSuppressionStatus(String status) {
-        if (status == null) {
-            return false;
-        }
-        // Suppression states that indicate the HCC is validated
-        return status.equals("Fully Validated") ||
-               status.equals("Needs Administrative Attention") ||
-               status.equals("Needs Clinical and Administrative Attention");
+        return status != null && HccSuppressionConfig.DEFAULT_SUPPRESSION_STATES.contains(status);
     }
 }
@@ -0,0 +1,51 @@
+package com.algoaccel.hcc.adapter;
+
+import com.algoaccel.hcc.dto.SuspectEvaluationResult;
+import com.algoaccel.hcc.port.SuspectResultStore;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory implementation of SuspectResultStore for H2/dev.
+ * Results are grouped by patient so a patient's suspects can be read without a scan.
+ */
+@Component
+public class InMemorySuspectResultStore implements SuspectResultStore {
+
+    private final Map<String, Map<Long, SuspectEvaluationResult>> resultsByPatient = new ConcurrentHashMap<>();
+
+    @Override
+    public void save(SuspectEvaluationResult result) {
+        if (isSuspected(result)) {
+            resultsByPatient.computeIfAbsent(result.getPatientId(), k -> new ConcurrentHashMap<>())
+                    .put(result.getRuleId(), result);
+        } else {
+            resultsByPatient.computeIfPresent(result.getPatientId(), (k, byRule) -> {
+                byRule.remove(result.getRuleId());
+                return byRule.isEmpty() ? null : byRule;
+            });
+        }
+    }
+
+    @Override
+    public Optional<SuspectEvaluationResult> find(String patientId, Long ruleId) {
+        return Optional.ofNullable(resultsByPatient.getOrDefault(patientId, Map.of()).get(ruleId));
+    }
+
+    @Override
+    public List<SuspectEvaluationResult> findByPatient(String patientId) {
+        return List.copyOf(resultsByPatient.getOrDefault(patientId, Map.of()).values());
+    }
+
+    @Override
+    public long count() {
+        return resultsByPatient.values().stream().mapToLong(Map::size).sum();
+    }
+
+    private boolean isSuspected(SuspectEvaluationResult result) {
+        return result.getModelResults() != null && result.getModelResults().values().stream()
+                .anyMatch(m -> !"NOT_SUSPECTED".equals(m.getStratification()));
+    }
+}
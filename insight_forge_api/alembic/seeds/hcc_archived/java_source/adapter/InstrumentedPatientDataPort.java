@@ -0,0 +1,164 @@
+package com.algoaccel.hcc.adapter;
+
+import com.algoaccel.hcc.config.HccQueryBudgetProperties;
+import com.algoaccel.hcc.dto.DiagnosisDto;
+import com.algoaccel.hcc.dto.HccSuppressionStatusDto;
+import com.algoaccel.hcc.dto.LabResultDto;
+import com.algoaccel.hcc.dto.MedicationOrderDto;
+import com.algoaccel.hcc.model.HccRuleRejectionState;
+import com.algoaccel.hcc.port.PatientDataPort;
+import com.algoaccel.hcc.port.PatientIdCursor;
+import com.algoaccel.hcc.port.PatientIdRange;
+import com.algoaccel.hcc.port.PortCallScope;
+import com.algoaccel.hcc.port.PortCallScope.Call;
+import com.algoaccel.hcc.port.QueryBudgetExceededException;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * PatientDataPort decorator that counts and times every call and the rows it returns.
+ *
+ * Calls are recorded as hcc.port.calls (timer) and hcc.port.rows (summary), tagged by method, and
+ * attributed to the thread's PortCallScope when one is open. Each scope is checked against
+ * hcc.query-budget, so per-criterion query regressions show up as warnings (or failures) instead of
+ * database load.
+ */
+@Slf4j
+public class InstrumentedPatientDataPort implements PatientDataPort {
+
+    private final PatientDataPort delegate;
+    private final HccQueryBudgetProperties budget;
+    private final Map<Call, Timer> timers = new EnumMap<>(Call.class);
+    private final Map<Call, DistributionSummary> rowSummaries = new EnumMap<>(Call.class);
+
+    public InstrumentedPatientDataPort(PatientDataPort delegate, MeterRegistry registry, HccQueryBudgetProperties budget) {
+        this.delegate = delegate;
+        this.budget = budget;
+        for (Call call : Call.values()) {
+            timers.put(call, Timer.builder("hcc.port.calls")
+                    .description("PatientDataPort calls")
+                    .tag("method", call.name())
+                    .register(registry));
+            rowSummaries.put(call, DistributionSummary.builder("hcc.port.rows")
+                    .description("Rows returned per PatientDataPort call")
+                    .tag("method", call.name())
+                    .register(registry));
+        }
+    }
+
+    @Override
+    public List<LabResultDto> getLabResults(String patientId, String conceptAlias, LocalDate windowStart, LocalDate windowEnd) {
+        return track(Call.getLabResults, () -> delegate.getLabResults(patientId, conceptAlias, windowStart, windowEnd), List::size);
+    }
+
+    @Override
+    public List<LabResultDto> getLabResults(String patientId, List<String> conceptAliases, LocalDate windowStart, LocalDate windowEnd) {
+        return track(Call.getLabResults, () -> delegate.getLabResults(patientId, conceptAliases, windowStart, windowEnd), List::size);
+    }
+
+    @Override
+    public List<MedicationOrderDto> getMedicationOrders(String patientId, List<String> conceptAliases, LocalDate windowStart, LocalDate windowEnd) {
+        return track(Call.getMedicationOrders, () -> delegate.getMedicationOrders(patientId, conceptAliases, windowStart, windowEnd), List::size);
+    }
+
+    @Override
+    public List<DiagnosisDto> getDiagnoses(String patientId, String modelType) {
+        return track(Call.getDiagnoses, () -> delegate.getDiagnoses(patientId, modelType), List::size);
+    }
+
+    @Override
+    public Optional<HccSuppressionStatusDto> getSuppressionStatus(String patientId, String targetHcc, String modelType) {
+        return track(Call.getSuppressionStatus, () -> delegate.getSuppressionStatus(patientId, targetHcc, modelType), o -> o.isPresent() ? 1 : 0);
+    }
+
+    @Override
+    public List<HccSuppressionStatusDto> getSuppressionStatuses(String targetHcc) {
+        return track(Call.getSuppressionStatuses, () -> delegate.getSuppressionStatuses(targetHcc), List::size);
+    }
+
+    @Override
+    public Optional<HccRuleRejectionState> getRejectionState(String patientId, Long ruleId, String modelType) {
+        return track(Call.getRejectionState, () -> delegate.getRejectionState(patientId, ruleId, modelType), o -> o.isPresent() ? 1 : 0);
+    }
+
+    @Override
+    public List<HccRuleRejectionState> getRejectionStates(Long ruleId) {
+        return track(Call.getRejectionStates, () -> delegate.getRejectionStates(ruleId), List::size);
+    }
+
+    @Override
+    public List<LabResultDto> getLabResultsForPatients(List<String> patientIds, List<String> conceptAliases, LocalDate windowStart, LocalDate windowEnd) {
+        return track(Call.getLabResultsForPatients, () -> delegate.getLabResultsForPatients(patientIds, conceptAliases, windowStart, windowEnd), List::size);
+    }
+
+    @Override
+    public List<MedicationOrderDto> getMedicationOrdersForPatients(List<String> patientIds, List<String> conceptAliases, LocalDate windowStart, LocalDate windowEnd) {
+        return track(Call.getMedicationOrdersForPatients, () -> delegate.getMedicationOrdersForPatients(patientIds, conceptAliases, windowStart, windowEnd), List::size);
+    }
+
+    @Override
+    public List<DiagnosisDto> getDiagnosesForPatients(List<String> patientIds, String modelType) {
+        return track(Call.getDiagnosesForPatients, () -> delegate.getDiagnosesForPatients(patientIds, modelType), List::size);
+    }
+
+    /**
+     * Only opening the cursor is tracked; its pages are read lazily.
+     */
+    @Override
+    public PatientIdCursor streamPatientIds(PatientIdRange range) {
+        return track(Call.streamPatientIds, () -> delegate.streamPatientIds(range), c -> 0);
+    }
+
+    @Override
+    public long countPatientIds(PatientIdRange range) {
+        return track(Call.countPatientIds, () -> delegate.countPatientIds(range), c -> 1);
+    }
+
+    private <T> T track(Call call, Supplier<T> invocation, ToIntFunction<T> rowCount) {
+        long start = System.nanoTime();
+        T result = invocation.get();
+        long elapsed = System.nanoTime() - start;
+        int rows = rowCount.applyAsInt(result);
+
+        timers.get(call).record(elapsed, TimeUnit.NANOSECONDS);
+        rowSummaries.get(call).record(rows);
+
+        PortCallScope scope = PortCallScope.current();
+        if (scope != null) {
+            scope.record(call, rows, elapsed);
+            checkBudget(scope);
+        }
+        return result;
+    }
+
+    private void checkBudget(PortCallScope scope) {
+        if (budget.getMode() == HccQueryBudgetProperties.Mode.OFF) {
+            return;
+        }
+        boolean overCalls = budget.getMaxCalls() > 0 && scope.totalCalls() > budget.getMaxCalls();
+        boolean overRows = budget.getMaxRows() > 0 && scope.rows() > budget.getMaxRows();
+        if (!overCalls && !overRows) {
+            return;
+        }
+
+        String message = "Query budget exceeded (max " + budget.getMaxCalls() + " calls, "
+                + budget.getMaxRows() + " rows) by " + scope;
+        if (budget.getMode() == HccQueryBudgetProperties.Mode.FAIL) {
+            throw new QueryBudgetExceededException(message);
+        }
+        if (scope.markBudgetWarned()) {
+            log.warn(message);
+        }
+    }
+}
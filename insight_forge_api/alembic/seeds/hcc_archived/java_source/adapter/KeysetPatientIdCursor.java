@@ -0,0 +1,98 @@
+package com.algoaccel.hcc.adapter;
+
+import com.algoaccel.hcc.port.PatientIdCursor;
+import com.algoaccel.hcc.port.PatientIdRange;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Patient ids read in keyset pages: each page continues after the last id of the previous one
+ * (patient_id > ?), so no page query holds a connection while callers evaluate.
+ * Rows are read through a forward-only, read-only result set with the configured fetch size;
+ * at most one page of ids is held in memory.
+ */
+class KeysetPatientIdCursor implements PatientIdCursor {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PatientIdRange range;
+    private final int pageSize;
+    private final int fetchSize;
+
+    private final ArrayDeque<String> page = new ArrayDeque<>();
+    private String lastId;
+    private boolean exhausted;
+
+    KeysetPatientIdCursor(JdbcTemplate jdbcTemplate, PatientIdRange range, int pageSize, int fetchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.range = range;
+        this.pageSize = Math.max(1, pageSize);
+        this.fetchSize = Math.max(1, fetchSize);
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (page.isEmpty() && !exhausted) {
+            fetchPage();
+        }
+        return !page.isEmpty();
+    }
+
+    @Override
+    public String next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return page.poll();
+    }
+
+    @Override
+    public void close() {
+        exhausted = true;
+        page.clear();
+    }
+
+    private void fetchPage() {
+        List<String> conditions = new ArrayList<>(2);
+        List<Object> args = new ArrayList<>(3);
+        if (lastId != null) {
+            conditions.add("patient_id > ?");
+            args.add(lastId);
+        } else if (range.fromInclusive() != null) {
+            conditions.add("patient_id >= ?");
+            args.add(range.fromInclusive());
+        }
+        if (range.toExclusive() != null) {
+            conditions.add("patient_id < ?");
+            args.add(range.toExclusive());
+        }
+        args.add(pageSize);
+
+        String sql = "SELECT patient_id FROM hcc_patient"
+                + (conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions))
+                + " ORDER BY patient_id LIMIT ?";
+
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(
+                    sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(fetchSize);
+            for (int i = 0; i < args.size(); i++) {
+                ps.setObject(i + 1, args.get(i));
+            }
+            return ps;
+        }, (RowCallbackHandler) rs -> page.add(rs.getString(1)));
+
+        if (page.size() < pageSize) {
+            exhausted = true;
+        }
+        if (!page.isEmpty()) {
+            lastId = page.peekLast();
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.algoaccel.hcc.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Pool and timeout for the asynchronous evaluate endpoint.
+ * Evaluations mostly wait on PatientDataPort, so the pool can be larger than the CPU count.
+ */
+@Data
+@ConfigurationProperties(prefix = "hcc.async")
+public class HccAsyncProperties {
+
+    private int corePoolSize = 16;
+
+    private int maxPoolSize = 64;
+
+    /**
+     * Evaluations waiting for a worker; beyond this requests are rejected with 503.
+     */
+    private int queueCapacity = 500;
+
+    /**
+     * Default per-request timeout; a request may ask for a shorter one.
+     */
+    private Duration timeout = Duration.ofSeconds(10);
+}
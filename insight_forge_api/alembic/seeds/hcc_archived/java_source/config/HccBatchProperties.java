@@ -0,0 +1,79 @@
+package com.algoaccel.hcc.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Tuning for population (batch) evaluation runs and bulk evaluation requests.
+ */
+@Data
+@ConfigurationProperties(prefix = "hcc.batch")
+public class HccBatchProperties {
+
+    /**
+     * Number of worker threads evaluating patient chunks in parallel.
+     */
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Patients per chunk. Each chunk loads its evidence with one set-based query per evidence kind.
+     */
+    private int chunkSize = 500;
+
+    /**
+     * Population runs executing at once; further runs wait in a queue of max-queued-runs.
+     */
+    private int maxConcurrentRuns = 2;
+
+    /**
+     * Population runs waiting to start; beyond this new runs are rejected with 503.
+     */
+    private int maxQueuedRuns = 8;
+
+    /**
+     * How long the status of a finished population run is kept.
+     */
+    private Duration completedRunTtl = Duration.ofHours(1);
+
+    /**
+     * Maximum finished population runs kept; the oldest are dropped first.
+     */
+    private int maxRetainedRuns = 100;
+
+    /**
+     * Patient ids read per keyset page when a population run streams the population.
+     */
+    private int patientIdPageSize = 10000;
+
+    /**
+     * JDBC fetch size for each page of patient ids.
+     */
+    private int patientIdFetchSize = 1000;
+
+    /**
+     * Worker threads evaluating bulk request chunks; separate from the population run pool.
+     */
+    private int bulkParallelism = Math.max(2, Runtime.getRuntime().availableProcessors() / 2);
+
+    /**
+     * Bulk evaluation requests in progress at once; beyond this requests are rejected with 503.
+     */
+    private int maxConcurrentBulkRequests = 4;
+
+    /**
+     * Results buffered per bulk request between its workers and its response writer.
+     */
+    private int bulkOutputBuffer = 1000;
+
+    /**
+     * Maximum patients in one bulk evaluation request.
+     */
+    private int maxBulkPatients = 5000;
+
+    /**
+     * Time limit for streaming one bulk evaluation response.
+     */
+    private Duration bulkTimeout = Duration.ofMinutes(10);
+}
@@ -1,28 +1,68 @@
 package com.algoaccel.hcc.config;
 
 import com.algoaccel.hcc.adapter.H2PatientDataAdapter;
+import com.algoaccel.hcc.adapter.InstrumentedPatientDataPort;
 import com.algoaccel.hcc.port.PatientDataPort;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Spring configuration for HCC module.
- * Wires the H2 adapter as the primary PatientDataPort implementation.
+ * Wires the H2 adapter, wrapped in InstrumentedPatientDataPort, as the primary PatientDataPort implementation.
  * The Oracle adapter will be a second implementation that can be swapped via profile.
  *
  * The entire HCC module can be disabled by setting hcc.enabled=false.
  */
 @Configuration
-@EnableConfigurationProperties(HccFeatureFlags.class)
+@EnableConfigurationProperties({HccFeatureFlags.class, HccBatchProperties.class, HccSyntheticProperties.class,
+        HccQueryBudgetProperties.class, HccAsyncProperties.class, HccRuleSnapshotProperties.class,
+        HccRejectionProperties.class})
+@EnableScheduling
 @ConditionalOnProperty(name = "hcc.enabled", havingValue = "true", matchIfMissing = true)
 public class HccConfig {
 
     @Bean
     @Primary
-    public PatientDataPort patientDataPort(H2PatientDataAdapter h2Adapter) {
-        return h2Adapter;
+    public PatientDataPort patientDataPort(H2PatientDataAdapter h2Adapter, MeterRegistry meterRegistry,
+                                           HccQueryBudgetProperties queryBudgetProperties) {
+        return new InstrumentedPatientDataPort(h2Adapter, meterRegistry, queryBudgetProperties);
+    }
+
+    /**
+     * Worker pool for population runs, sized by hcc.batch.parallelism.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService hccBatchExecutor(HccBatchProperties batchProperties) {
+        AtomicInteger threadCount = new AtomicInteger();
+        return Executors.newFixedThreadPool(batchProperties.getParallelism(), r -> {
+            Thread thread = new Thread(r, "hcc-batch-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Bounded pool for the asynchronous evaluate endpoint, sized by hcc.async.
+     * A ThreadPoolTaskExecutor rather than an ExecutorService, so services injecting the batch pool by type are unaffected.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor hccEvaluationExecutor(HccAsyncProperties asyncProperties) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(asyncProperties.getCorePoolSize());
+        executor.setMaxPoolSize(asyncProperties.getMaxPoolSize());
+        executor.setQueueCapacity(asyncProperties.getQueueCapacity());
+        executor.setThreadNamePrefix("hcc-eval-");
+        executor.setDaemon(true);
+        return executor;
     }
 }
@@ -0,0 +1,34 @@
+package com.algoaccel.hcc.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * PatientDataPort budget per evaluate() call, enforced by InstrumentedPatientDataPort.
+ */
+@Data
+@ConfigurationProperties(prefix = "hcc.query-budget")
+public class HccQueryBudgetProperties {
+
+    public enum Mode {
+        /** Count and time calls only */
+        OFF,
+        /** Log one warning per evaluation that exceeds the budget */
+        WARN,
+        /** Throw QueryBudgetExceededException; meant for tests and CI */
+        FAIL
+    }
+
+    private Mode mode = Mode.WARN;
+
+    /**
+     * Maximum port calls per evaluation; 0 disables the check.
+     * A single-rule evaluation needs one call per evidence kind plus suppression and rejection per model.
+     */
+    private int maxCalls = 20;
+
+    /**
+     * Maximum rows returned per evaluation; 0 disables the check.
+     */
+    private long maxRows = 0;
+}
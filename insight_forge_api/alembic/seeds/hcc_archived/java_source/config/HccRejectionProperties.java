@@ -0,0 +1,44 @@
+package com.algoaccel.hcc.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Write-behind recording of clinician rejections.
+ */
+@Data
+@ConfigurationProperties(prefix = "hcc.rejection")
+public class HccRejectionProperties {
+
+    /**
+     * How often queued rejections are written to the database.
+     */
+    private Duration flushInterval = Duration.ofMillis(200);
+
+    /**
+     * Longest wait between flush attempts while flushing keeps failing (e.g. the database is down).
+     */
+    private Duration maxFlushBackoff = Duration.ofSeconds(30);
+
+    /**
+     * Queued (patient, rule, model) rejections that trigger an early flush in the background.
+     */
+    private int maxPending = 5000;
+
+    /**
+     * Hard limit on queued rejections; requests that would exceed it get 503 until the queue is written.
+     */
+    private int maxQueued = 50000;
+
+    /**
+     * Rows per JDBC batch when flushing.
+     */
+    private int batchSize = 500;
+
+    /**
+     * Maximum rejections in one request.
+     */
+    private int maxRequestSize = 10000;
+}
@@ -0,0 +1,30 @@
+package com.algoaccel.hcc.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * In-memory snapshot of PUBLISHED rules used by evaluation.
+ */
+@Data
+@ConfigurationProperties(prefix = "hcc.rule-snapshot")
+public class HccRuleSnapshotProperties {
+
+    /**
+     * When false, every evaluation loads its rules through EffectiveRuleCache.
+     */
+    private boolean enabled = true;
+
+    /**
+     * How often rule ids and versions are compared with the snapshot, to pick up changes made by
+     * other instances or outside HccRuleService.
+     */
+    private Duration refreshInterval = Duration.ofSeconds(30);
+
+    /**
+     * Most rules EffectiveRuleCache keeps compiled; the least recently used are dropped beyond it.
+     */
+    private int effectiveRuleCacheSize = 1000;
+}
@@ -0,0 +1,39 @@
+package com.algoaccel.hcc.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.LocalDate;
+
+/**
+ * Synthetic population for load testing. Nothing is generated unless patients is set above zero.
+ */
+@Data
+@ConfigurationProperties(prefix = "hcc.synthetic")
+public class HccSyntheticProperties {
+
+    /**
+     * Patients to generate and load at startup; 0 disables the generator.
+     */
+    private int patients = 0;
+
+    /**
+     * Seed for the generator. The same seed and patient count always produce the same rows.
+     */
+    private long seed = 42L;
+
+    /**
+     * Patient id prefix, so synthetic patients never collide with the V16/V19 seed patients.
+     */
+    private String patientIdPrefix = "SYN";
+
+    /**
+     * Date the two-year evidence history ends on; defaults to today. Pin it for identical rows across days.
+     */
+    private LocalDate asOf;
+
+    /**
+     * Patients generated and inserted per transaction; rows are written with JDBC batches of this chunk.
+     */
+    private int chunkSize = 2000;
+}
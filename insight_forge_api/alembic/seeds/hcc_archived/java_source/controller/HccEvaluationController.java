@@ -1,13 +1,32 @@
 package com.algoaccel.hcc.controller;
 
+import com.algoaccel.hcc.config.HccBatchProperties;
 import com.algoaccel.hcc.config.HccFeatureFlags;
+import com.algoaccel.hcc.dto.BulkEvaluationRequest;
 import com.algoaccel.hcc.dto.SuspectEvaluationResult;
+import com.algoaccel.hcc.engine.CompiledRuleSet;
+import com.algoaccel.hcc.service.AsyncEvaluationService;
+import com.algoaccel.hcc.service.BulkEvaluationService;
+import com.algoaccel.hcc.service.RuleNotFoundException;
 import com.algoaccel.hcc.service.SuspectEvaluationService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * REST controller for HCC suspect evaluation.
@@ -15,22 +34,29 @@ import org.springframework.web.bind.annotation.*;
 @RestController
 @RequestMapping("/api/hcc/evaluate")
 @RequiredArgsConstructor
+@Slf4j
 @ConditionalOnProperty(name = "hcc.enabled", havingValue = "true", matchIfMissing = true)
 public class HccEvaluationController {
 
     private final SuspectEvaluationService evaluationService;
+    private final AsyncEvaluationService asyncEvaluationService;
+    private final BulkEvaluationService bulkEvaluationService;
     private final HccFeatureFlags featureFlags;
+    private final HccBatchProperties batchProperties;
+    private final ObjectMapper objectMapper;
 
     /**
      * Evaluate a patient against an HCC suspecting rule.
      * Returns 503 Service Unavailable if resurfacing is disabled and the evaluation
      * would trigger resurfacing logic.
+     * With trace=true the result is wrapped with a per-model/tier/branch/criterion timing tree.
      */
     @GetMapping("/{ruleId}/{patientId}")
     public ResponseEntity<?> evaluate(
             @PathVariable Long ruleId,
             @PathVariable String patientId,
-            @RequestParam(required = false) String clientId) {
+            @RequestParam(required = false) String clientId,
+            @RequestParam(defaultValue = "false") boolean trace) {
 
         // Check if resurfacing feature is disabled
         if (!featureFlags.isResurfacingEnabled()) {
@@ -39,10 +65,139 @@ public class HccEvaluationController {
                     .body(new ErrorResponse("HCC resurfacing is currently disabled"));
         }
 
+        if (trace) {
+            return ResponseEntity.ok(evaluationService.evaluateTraced(patientId, ruleId, clientId));
+        }
+
         SuspectEvaluationResult result = evaluationService.evaluate(patientId, ruleId, clientId);
         return ResponseEntity.ok(result);
     }
 
+    /**
+     * Asynchronous variant of the single-rule evaluation: the request thread is released while the
+     * evaluation runs on the bounded hcc-eval pool.
+     * Returns 404 for an unknown rule, 400 for other invalid arguments, 503 when the pool is saturated
+     * and 504 when the evaluation exceeds timeoutMs (capped at hcc.async.timeout).
+     */
+    @GetMapping("/async/{ruleId}/{patientId}")
+    public CompletableFuture<ResponseEntity<?>> evaluateAsync(
+            @PathVariable Long ruleId,
+            @PathVariable String patientId,
+            @RequestParam(required = false) String clientId,
+            @RequestParam(required = false) Long timeoutMs) {
+
+        if (!featureFlags.isResurfacingEnabled()) {
+            return CompletableFuture.completedFuture(ResponseEntity
+                    .status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(new ErrorResponse("HCC resurfacing is currently disabled")));
+        }
+
+        Duration timeout = timeoutMs != null ? Duration.ofMillis(timeoutMs) : null;
+        return asyncEvaluationService.evaluate(patientId, ruleId, clientId, timeout)
+                .<ResponseEntity<?>>thenApply(ResponseEntity::ok)
+                .exceptionally(this::asyncError);
+    }
+
+    private ResponseEntity<?> asyncError(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof TimeoutException) {
+            return ResponseEntity
+                    .status(HttpStatus.GATEWAY_TIMEOUT)
+                    .body(new ErrorResponse("Evaluation timed out"));
+        }
+        if (cause instanceof RejectedExecutionException) {
+            return ResponseEntity
+                    .status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(new ErrorResponse("Evaluation capacity exhausted, retry later"));
+        }
+        if (cause instanceof RuleNotFoundException) {
+            return ResponseEntity.notFound().build();
+        }
+        if (cause instanceof IllegalArgumentException) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(cause.getMessage()));
+        }
+        if (cause instanceof RuntimeException runtimeException) {
+            throw runtimeException;
+        }
+        throw new CompletionException(cause);
+    }
+
+    /**
+     * Evaluate a patient against every published rule in one pass (chart review).
+     * Same resurfacing feature check as the single-rule endpoint.
+     */
+    @GetMapping("/patient/{patientId}")
+    public ResponseEntity<?> evaluatePatient(
+            @PathVariable String patientId,
+            @RequestParam(required = false) String clientId) {
+
+        if (!featureFlags.isResurfacingEnabled()) {
+            return ResponseEntity
+                    .status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(new ErrorResponse("HCC resurfacing is currently disabled"));
+        }
+
+        List<SuspectEvaluationResult> results = evaluationService.evaluatePublishedRules(patientId, clientId);
+        return ResponseEntity.ok(results);
+    }
+
+    /**
+     * Evaluate many patients against many rules in one request.
+     * Rules are compiled once and evidence is fetched per chunk of patients; results are streamed as
+     * newline-delimited JSON (one SuspectEvaluationResult or BulkEvaluationFailure per line) in completion order.
+     * Returns 400 for an empty or oversized patient list, 404 for an unknown rule and 503 when too many
+     * bulk requests are in progress.
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<?> evaluateBulk(@RequestBody BulkEvaluationRequest request) {
+        if (!featureFlags.isResurfacingEnabled()) {
+            return ResponseEntity
+                    .status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(new ErrorResponse("HCC resurfacing is currently disabled"));
+        }
+
+        CompiledRuleSet ruleSet;
+        try {
+            ruleSet = bulkEvaluationService.compile(request);
+        } catch (RuleNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new ErrorResponse(e.getMessage()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        }
+
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(batchProperties.getBulkTimeout().toMillis());
+        AtomicBoolean cancelled = new AtomicBoolean();
+        emitter.onTimeout(() -> cancelled.set(true));
+        emitter.onError(e -> cancelled.set(true));
+
+        CompletableFuture<Void> evaluation;
+        try {
+            evaluation = bulkEvaluationService.evaluate(request.getPatientIds(), ruleSet, item -> {
+                try {
+                    emitter.send(objectMapper.writeValueAsString(item) + "\n", MediaType.TEXT_PLAIN);
+                } catch (IOException e) {
+                    log.info("Bulk evaluation client disconnected: {}", e.getMessage());
+                    cancelled.set(true);
+                }
+            }, cancelled);
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity
+                    .status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(new ErrorResponse(e.getMessage()));
+        }
+        evaluation.whenComplete((ignored, error) -> {
+            if (error != null) {
+                emitter.completeWithError(error);
+            } else {
+                emitter.complete();
+            }
+        });
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(emitter);
+    }
+
     /**
      * Simple error response DTO.
      */
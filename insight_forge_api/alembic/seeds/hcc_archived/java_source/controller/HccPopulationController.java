@@ -0,0 +1,54 @@
+package com.algoaccel.hcc.controller;
+
+import com.algoaccel.hcc.dto.PopulationRunRequest;
+import com.algoaccel.hcc.dto.PopulationRunStatus;
+import com.algoaccel.hcc.service.PopulationEvaluationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * REST controller for population (batch) evaluation runs.
+ */
+@RestController
+@RequestMapping("/api/hcc/population-runs")
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "hcc.enabled", havingValue = "true", matchIfMissing = true)
+public class HccPopulationController {
+
+    private final PopulationEvaluationService populationEvaluationService;
+
+    /**
+     * Start a population run. Returns 202 Accepted with the run's initial status,
+     * 400 for an invalid patient id range and 503 when too many runs are in progress.
+     */
+    @PostMapping
+    public ResponseEntity<?> startRun(@RequestBody(required = false) PopulationRunRequest request) {
+        try {
+            PopulationRunStatus status = populationEvaluationService.submit(
+                    request != null ? request : new PopulationRunRequest());
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(status);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(new ErrorResponse(e.getMessage()));
+        }
+    }
+
+    /**
+     * Get progress and throughput of a population run. Finished runs are kept for
+     * hcc.batch.completed-run-ttl; after that this returns 404.
+     */
+    @GetMapping("/{runId}")
+    public ResponseEntity<PopulationRunStatus> getRun(@PathVariable String runId) {
+        return populationEvaluationService.getStatus(runId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    private record ErrorResponse(String message) {}
+}
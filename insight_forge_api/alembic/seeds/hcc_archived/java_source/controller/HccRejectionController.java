@@ -0,0 +1,52 @@
+package com.algoaccel.hcc.controller;
+
+import com.algoaccel.hcc.dto.RejectionRequest;
+import com.algoaccel.hcc.service.RejectionRecordingService;
+import com.algoaccel.hcc.service.RuleNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * REST controller for recording clinician rejections of suspects.
+ */
+@RestController
+@RequestMapping("/api/hcc/rejections")
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "hcc.enabled", havingValue = "true", matchIfMissing = true)
+public class HccRejectionController {
+
+    private final RejectionRecordingService rejectionRecordingService;
+
+    /**
+     * Record a batch of rejections. They are written shortly after (write-behind) but apply to
+     * evaluations on this instance immediately. Returns 202 Accepted with the number accepted,
+     * 400 for an invalid request, 404 for an unknown rule and 503 while too many rejections are
+     * waiting to be written.
+     */
+    @PostMapping
+    public ResponseEntity<?> recordRejections(@RequestBody List<RejectionRequest> rejections) {
+        try {
+            int accepted = rejectionRecordingService.record(rejections);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(new AcceptedResponse(accepted));
+        } catch (RuleNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new ErrorResponse(e.getMessage()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(new ErrorResponse(e.getMessage()));
+        }
+    }
+
+    private record AcceptedResponse(int accepted) {}
+
+    /**
+     * Simple error response DTO.
+     */
+    private record ErrorResponse(String message) {}
+}
@@ -8,11 +8,17 @@ import com.algoaccel.hcc.model.enums.HccRuleStatus;
 import com.algoaccel.hcc.service.HccRuleService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
 import org.springframework.web.bind.annotation.*;
 
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -24,17 +30,60 @@ import java.util.stream.Collectors;
 @ConditionalOnProperty(name = "hcc.enabled", havingValue = "true", matchIfMissing = true)
 public class HccRuleController {
 
+    private static final Set<String> SORTABLE_FIELDS =
+            Set.of("id", "name", "hccCategory", "conditionName", "status", "modelYear");
+    private static final int MAX_PAGE_SIZE = 1000;
+
     private final HccRuleService hccRuleService;
 
     /**
-     * List all rules (summary view).
+     * List rules (summary view), optionally filtered by status and HCC category. Without size every
+     * matching rule is returned, as before paging; with size, one page of at most 1000 rules.
+     * sort is a field name with an optional ",desc" (e.g. "name,desc"). The total is returned in
+     * X-Total-Count. The ETag changes whenever a matching rule is added, removed or updated, so a
+     * request with a matching If-None-Match gets 304 without the list being queried.
      */
     @GetMapping
-    public ResponseEntity<List<HccRuleSummaryDto>> getAllRules() {
-        List<HccRuleSummaryDto> rules = hccRuleService.findAll().stream()
-                .map(this::toSummaryDto)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(rules);
+    public ResponseEntity<List<HccRuleSummaryDto>> getAllRules(
+            @RequestParam(required = false) HccRuleStatus status,
+            @RequestParam(required = false) String hccCategory,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "id") String sort,
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
+
+        String[] sortParts = sort.split(",");
+        String sortField = sortParts[0].trim();
+        boolean invalidSize = size != null ? size < 1 || size > MAX_PAGE_SIZE : page > 0;
+        if (page < 0 || invalidSize || !SORTABLE_FIELDS.contains(sortField)) {
+            return ResponseEntity.badRequest().build();
+        }
+        Sort.Direction direction = sortParts.length > 1 && "desc".equalsIgnoreCase(sortParts[1].trim())
+                ? Sort.Direction.DESC
+                : Sort.Direction.ASC;
+
+        RuleListFingerprint fingerprint = hccRuleService.getListFingerprint(status, hccCategory);
+        // Request parameters as stable text (not hashCode, which differs between JVMs for enums)
+        String params = status + "|" + hccCategory + "|" + page + "|" + (size != null ? size : "all")
+                + "|" + sortField + "|" + direction.name();
+        String etag = "\"" + fingerprint.count() + "-" + fingerprint.maxVersion() + "-" + fingerprint.versionSum()
+                + "-" + fingerprint.idSum() + "-"
+                + DigestUtils.md5DigestAsHex(params.getBytes(StandardCharsets.UTF_8)) + "\"";
+        if (etag.equals(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+
+        // Tie-break on id so pages are stable when the sort field has duplicates
+        Sort order = Sort.by(direction, sortField);
+        if (!"id".equals(sortField)) {
+            order = order.and(Sort.by("id"));
+        }
+        Page<HccRuleSummaryDto> rules = hccRuleService.findSummaries(
+                status, hccCategory, PageRequest.of(page, size != null ? size : Integer.MAX_VALUE, order));
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .header("X-Total-Count", String.valueOf(rules.getTotalElements()))
+                .body(rules.getContent());
     }
 
     /**
@@ -105,20 +154,6 @@ public class HccRuleController {
         return ResponseEntity.noContent().build();
     }
 
-    private HccRuleSummaryDto toSummaryDto(HccSuspectRule rule) {
-        return HccRuleSummaryDto.builder()
-                .id(rule.getId())
-                .name(rule.getName())
-                .hccCategory(rule.getHccCategory())
-                .conditionName(rule.getConditionName())
-                .status(rule.getStatus())
-                .modelYear(rule.getModelYear())
-                .cmsEnabled(rule.getCmsEnabled())
-                .hhsEnabled(rule.getHhsEnabled())
-                .esrdEnabled(rule.getEsrdEnabled())
-                .build();
-    }
-
     private HccRuleDetailDto toDetailDto(HccSuspectRule rule) {
         List<StratificationTierDto> tierDtos = rule.getTiers().stream()
                 .map(this::toTierDto)
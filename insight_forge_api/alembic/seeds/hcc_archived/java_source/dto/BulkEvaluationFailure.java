@@ -0,0 +1,15 @@
+package com.algoaccel.hcc.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Streamed in place of a result when one patient/rule evaluation (or its chunk's evidence load) fails.
+ */
+@Data
+@Builder
+public class BulkEvaluationFailure {
+    private String patientId;
+    private Long ruleId;  // null when the whole patient failed
+    private String error;
+}
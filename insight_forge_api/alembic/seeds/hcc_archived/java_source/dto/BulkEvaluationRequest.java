@@ -0,0 +1,16 @@
+package com.algoaccel.hcc.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Request DTO for bulk evaluation of patients × rules.
+ * An empty or missing ruleIds list evaluates every PUBLISHED rule.
+ */
+@Data
+public class BulkEvaluationRequest {
+    private List<String> patientIds;
+    private List<Long> ruleIds;
+    private String clientId;
+}
@@ -0,0 +1,23 @@
+package com.algoaccel.hcc.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * One node of an evaluation timing tree: the rule, a model, a tier, a branch or a criterion.
+ * Rows, port calls and cache hits include the node's children.
+ */
+@Data
+@Builder
+public class EvaluationTraceNode {
+    private String kind;  // RULE, MODEL, TIER, BRANCH, CRITERION
+    private String name;
+    private long durationMicros;
+    private Boolean matched;  // fired / matched; null where not applicable
+    private long rowsScanned;
+    private int portCalls;
+    private int cacheHits;
+    private List<EvaluationTraceNode> children;
+}
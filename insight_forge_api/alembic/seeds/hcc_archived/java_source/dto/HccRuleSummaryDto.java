@@ -1,14 +1,18 @@
 package com.algoaccel.hcc.dto;
 
 import com.algoaccel.hcc.model.enums.HccRuleStatus;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 
 /**
  * Summary DTO for HCC Rule list view.
+ * Also built directly by a JPQL constructor expression; keep the field order in sync with
+ * HccSuspectRuleRepository.findSummaries.
  */
 @Data
 @Builder
+@AllArgsConstructor
 public class HccRuleSummaryDto {
     private Long id;
     private String name;
@@ -0,0 +1,19 @@
+package com.algoaccel.hcc.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Request DTO for starting a population run.
+ * An empty or missing ruleIds list evaluates every PUBLISHED rule.
+ * fromPatientId (inclusive) and toPatientId (exclusive) limit the run to a partition of the
+ * population by patient id; either may be omitted.
+ */
+@Data
+public class PopulationRunRequest {
+    private List<Long> ruleIds;
+    private String clientId;
+    private String fromPatientId;
+    private String toPatientId;
+}
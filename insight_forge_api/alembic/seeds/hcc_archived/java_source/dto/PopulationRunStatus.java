@@ -0,0 +1,29 @@
+package com.algoaccel.hcc.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Progress and throughput of a population run.
+ */
+@Data
+@Builder
+public class PopulationRunStatus {
+    private String runId;
+    private String state;  // RUNNING, COMPLETED, FAILED
+    private List<Long> ruleIds;
+    private String clientId;
+    private long patientsTotal;
+    private long patientsEvaluated;
+    private long evaluations;
+    private long suspects;
+    private long failures;
+    private Instant startedAt;
+    private Instant completedAt;
+    private long elapsedMillis;
+    private double patientsPerSecond;
+    private String errorMessage;
+}
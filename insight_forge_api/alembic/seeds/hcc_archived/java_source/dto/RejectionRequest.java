@@ -0,0 +1,18 @@
+package com.algoaccel.hcc.dto;
+
+import lombok.Data;
+
+import java.time.LocalDate;
+
+/**
+ * Request DTO for one clinician rejection of a suspect.
+ * rejectedAt defaults to today.
+ */
+@Data
+public class RejectionRequest {
+    private String patientId;
+    private Long ruleId;
+    private String modelType;
+    private String lastTriggeringConceptAlias;
+    private LocalDate rejectedAt;
+}
@@ -0,0 +1,8 @@
+package com.algoaccel.hcc.dto;
+
+/**
+ * Aggregates over the rules matching a list filter. Any insert, delete or update (each update bumps
+ * the rule's @Version) changes at least one of them, so they identify a version of the list.
+ */
+public record RuleListFingerprint(Long count, Integer maxVersion, Long versionSum, Long idSum) {
+}
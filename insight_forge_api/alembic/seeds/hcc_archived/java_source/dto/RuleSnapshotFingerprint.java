@@ -0,0 +1,53 @@
+package com.algoaccel.hcc.dto;
+
+import com.algoaccel.hcc.model.HccClientConfig;
+import com.algoaccel.hcc.model.HccSuppressionConfig;
+import com.algoaccel.hcc.model.HccSuspectRule;
+import com.algoaccel.hcc.model.StratificationTier;
+
+/**
+ * Version of one rule and its children. Child ids only grow, so with the per-type counts and id sums
+ * any added or removed child shows; any update bumps the rule's or a child's @Version.
+ */
+public record RuleSnapshotFingerprint(
+        Long ruleId,
+        Integer version,
+        Long tiers,
+        Long tierIdSum,
+        Long suppressionConfigs,
+        Long suppressionConfigIdSum,
+        Long clientConfigs,
+        Long clientConfigIdSum,
+        Long childVersionSum) {
+
+    /**
+     * The same fingerprint computed from a rule loaded with all of its children.
+     */
+    public static RuleSnapshotFingerprint of(HccSuspectRule rule) {
+        long tierIdSum = 0;
+        long suppressionConfigIdSum = 0;
+        long clientConfigIdSum = 0;
+        long childVersionSum = 0;
+        for (StratificationTier tier : rule.getTiers()) {
+            tierIdSum += valueOf(tier.getId());
+            childVersionSum += valueOf(tier.getVersion());
+        }
+        for (HccSuppressionConfig config : rule.getSuppressionConfigs()) {
+            suppressionConfigIdSum += valueOf(config.getId());
+            childVersionSum += valueOf(config.getVersion());
+        }
+        for (HccClientConfig config : rule.getClientConfigs()) {
+            clientConfigIdSum += valueOf(config.getId());
+            childVersionSum += valueOf(config.getVersion());
+        }
+        return new RuleSnapshotFingerprint(rule.getId(), rule.getVersion(),
+                (long) rule.getTiers().size(), tierIdSum,
+                (long) rule.getSuppressionConfigs().size(), suppressionConfigIdSum,
+                (long) rule.getClientConfigs().size(), clientConfigIdSum,
+                childVersionSum);
+    }
+
+    private static long valueOf(Number value) {
+        return value != null ? value.longValue() : 0;
+    }
+}
@@ -0,0 +1,21 @@
+package com.algoaccel.hcc.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Row counts and throughput of a synthetic population load.
+ */
+@Data
+@Builder
+public class SyntheticPopulationSummary {
+    private long seed;
+    private long patients;
+    private long labResults;
+    private long medicationOrders;
+    private long diagnoses;
+    private long rejectionStates;
+    private long existingPatients;  // already loaded, skipped
+    private long elapsedMillis;
+    private double rowsPerSecond;
+}
@@ -0,0 +1,14 @@
+package com.algoaccel.hcc.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Evaluation result with its timing tree, returned when the evaluate endpoint is called with trace=true.
+ */
+@Data
+@Builder
+public class TracedEvaluationResult {
+    private SuspectEvaluationResult result;
+    private EvaluationTraceNode trace;
+}
@@ -0,0 +1,19 @@
+package com.algoaccel.hcc.engine;
+
+import com.algoaccel.hcc.model.enums.BranchLogic;
+
+import java.util.List;
+
+/**
+ * Immutable evidence branch: a list of criteria combined with AND/OR logic.
+ * captureSlotCount is the number of distinct captureAs names used within the branch.
+ * A branch is sequential when every temporal constraint only references captures written by
+ * earlier criteria, so criteria can be evaluated in one ordered pass and short-circuited.
+ */
+public record CompiledBranch(
+        String branchId,
+        BranchLogic logic,
+        List<CompiledCriterion> criteria,
+        int captureSlotCount,
+        boolean sequential) {
+}
@@ -0,0 +1,61 @@
+package com.algoaccel.hcc.engine;
+
+import com.algoaccel.hcc.model.enums.CombinationType;
+import com.algoaccel.hcc.model.enums.EvidenceType;
+import com.algoaccel.hcc.model.enums.QualifierType;
+import com.algoaccel.hcc.model.enums.ResultSelector;
+
+/**
+ * Immutable, typed form of a single criterion from StratificationTier.criteriaJson.
+ * A null type or qualifier means the JSON value was missing or unknown; such criteria never match.
+ * captureReferenced is true when another criterion's temporal constraint reads this capture.
+ */
+public record CompiledCriterion(
+        EvidenceType type,
+        String conceptAlias,
+        QualifierType qualifier,
+        ResultSelector resultSelector,
+        boolean hasThreshold,
+        double threshold,
+        double rangeMin,
+        double rangeMax,
+        boolean rangeMinInclusive,
+        boolean rangeMaxInclusive,
+        CombinationType combinationType,
+        boolean negate,
+        String captureAs,
+        int captureSlot,
+        boolean captureReferenced,
+        TemporalConstraint temporalConstraint) {
+
+    /**
+     * Tests a quantitative lab value against a threshold or range qualifier.
+     */
+    public boolean matchesValue(double value) {
+        if (qualifier == QualifierType.RANGE) {
+            boolean meetsMin = rangeMinInclusive ? value >= rangeMin : value > rangeMin;
+            boolean meetsMax = rangeMaxInclusive ? value <= rangeMax : value < rangeMax;
+            return meetsMin && meetsMax;
+        }
+        if (!hasThreshold || qualifier == null) {
+            return false;
+        }
+        return switch (qualifier) {
+            case GREATER_THAN -> value > threshold;
+            case GREATER_THAN_OR_EQUAL -> value >= threshold;
+            case LESS_THAN -> value < threshold;
+            case LESS_THAN_OR_EQUAL -> value <= threshold;
+            case EQUALS -> value == threshold;
+            default -> false;
+        };
+    }
+
+    /**
+     * Copy with a client-specific threshold.
+     */
+    public CompiledCriterion withThreshold(double overrideThreshold) {
+        return new CompiledCriterion(type, conceptAlias, qualifier, resultSelector, true, overrideThreshold,
+                rangeMin, rangeMax, rangeMinInclusive, rangeMaxInclusive, combinationType, negate,
+                captureAs, captureSlot, captureReferenced, temporalConstraint);
+    }
+}
@@ -0,0 +1,33 @@
+package com.algoaccel.hcc.engine;
+
+import com.algoaccel.hcc.model.enums.HccModelType;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable, evaluation-ready view of an (effective) HccSuspectRule.
+ * Tier plans come from the RuleCompiler cache; a missing tier is null.
+ */
+public record CompiledRule(
+        Long ruleId,
+        Integer version,
+        String name,
+        String hccCategory,
+        String conditionName,
+        int lookbackYears,
+        Set<HccModelType> enabledModels,
+        Map<HccModelType, CompiledSuppression> suppressionByModel,
+        CompiledTier highlySuspected,
+        CompiledTier moderatelySuspected,
+        EvidenceFootprint footprint) {
+
+    public LocalDate windowStart(LocalDate windowEnd) {
+        return windowEnd.minusYears(lookbackYears);
+    }
+
+    public CompiledSuppression suppressionFor(HccModelType modelType) {
+        return suppressionByModel.get(modelType);
+    }
+}
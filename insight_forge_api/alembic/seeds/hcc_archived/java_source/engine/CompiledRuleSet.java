@@ -0,0 +1,28 @@
+package com.algoaccel.hcc.engine;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * A set of compiled rules evaluated together, with the merged evidence footprint and the
+ * widest lookback window, so one evidence load serves every rule in the set.
+ */
+public record CompiledRuleSet(
+        List<CompiledRule> rules,
+        EvidenceFootprint footprint,
+        LocalDate windowStart,
+        LocalDate windowEnd) {
+
+    public static CompiledRuleSet of(List<CompiledRule> rules, LocalDate windowEnd) {
+        LocalDate windowStart = windowEnd;
+        EvidenceFootprint footprint = EvidenceFootprint.EMPTY;
+        for (CompiledRule rule : rules) {
+            footprint = footprint.merge(rule.footprint());
+            LocalDate ruleStart = rule.windowStart(windowEnd);
+            if (ruleStart.isBefore(windowStart)) {
+                windowStart = ruleStart;
+            }
+        }
+        return new CompiledRuleSet(List.copyOf(rules), footprint, windowStart, windowEnd);
+    }
+}
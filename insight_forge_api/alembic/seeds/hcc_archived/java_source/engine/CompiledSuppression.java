@@ -0,0 +1,22 @@
+package com.algoaccel.hcc.engine;
+
+import com.algoaccel.hcc.model.enums.HccModelType;
+
+import java.util.Set;
+
+/**
+ * Immutable copy of an HccSuppressionConfig for one model type, with its suppression states parsed.
+ */
+public record CompiledSuppression(
+        HccModelType modelType,
+        String targetHcc,
+        Set<String> suppressionStates,
+        boolean resurfacingEnabled) {
+
+    /**
+     * Whether a diagnosis in this suppression status suppresses suspect output.
+     */
+    public boolean suppresses(String status) {
+        return status != null && suppressionStates.contains(status);
+    }
+}
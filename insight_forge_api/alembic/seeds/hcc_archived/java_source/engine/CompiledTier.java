@@ -0,0 +1,38 @@
+package com.algoaccel.hcc.engine;
+
+import com.algoaccel.hcc.model.enums.EvidenceType;
+import com.algoaccel.hcc.model.enums.TierType;
+
+import java.util.List;
+
+/**
+ * Immutable evaluation plan for a StratificationTier, compiled once per tier id and rule version.
+ * A tier that is not evaluable (missing/invalid criteria JSON or no minimum) never fires.
+ */
+public record CompiledTier(
+        Long tierId,
+        Long ruleId,
+        Integer ruleVersion,
+        TierType tierType,
+        boolean evaluable,
+        int minimumBranchesRequired,
+        List<CompiledBranch> branches) {
+
+    static CompiledTier notEvaluable(Long tierId, Long ruleId, Integer ruleVersion, TierType tierType) {
+        return new CompiledTier(tierId, ruleId, ruleVersion, tierType, false, 0, List.of());
+    }
+
+    /**
+     * Whether any criterion reads diagnoses, which differ per model.
+     */
+    public boolean readsDiagnoses() {
+        for (CompiledBranch branch : branches) {
+            for (CompiledCriterion criterion : branch.criteria()) {
+                if (criterion.type() == EvidenceType.DIAGNOSIS) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,55 @@
+package com.algoaccel.hcc.engine;
+
+import com.algoaccel.hcc.dto.DiagnosisDto;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * One patient's diagnoses for one model, hashed by HCC category and ICD code.
+ * DIAGNOSIS criteria match a concept alias against either, so a lookup answers a criterion
+ * in O(1) instead of scanning the problem list. Built once per evaluation (or evidence load).
+ */
+public final class DiagnosisIndex {
+
+    public static final DiagnosisIndex EMPTY = new DiagnosisIndex(Set.of(), 0);
+
+    private final Set<String> codes;
+    private final int size;
+
+    private DiagnosisIndex(Set<String> codes, int size) {
+        this.codes = codes;
+        this.size = size;
+    }
+
+    public static DiagnosisIndex of(Collection<DiagnosisDto> diagnoses) {
+        if (diagnoses.isEmpty()) {
+            return EMPTY;
+        }
+        Set<String> codes = new HashSet<>(diagnoses.size() * 4);
+        for (DiagnosisDto diagnosis : diagnoses) {
+            if (diagnosis.getHccCategory() != null) {
+                codes.add(diagnosis.getHccCategory());
+            }
+            if (diagnosis.getIcdCode() != null) {
+                codes.add(diagnosis.getIcdCode());
+            }
+        }
+        return new DiagnosisIndex(codes, diagnoses.size());
+    }
+
+    /**
+     * Whether any diagnosis has this HCC category or ICD code.
+     */
+    public boolean contains(String conceptAlias) {
+        return conceptAlias != null && codes.contains(conceptAlias);
+    }
+
+    /**
+     * Number of diagnoses indexed.
+     */
+    public int size() {
+        return size;
+    }
+}
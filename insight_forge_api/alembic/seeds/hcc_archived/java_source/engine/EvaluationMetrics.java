@@ -0,0 +1,206 @@
+package com.algoaccel.hcc.engine;
+
+import com.algoaccel.hcc.model.enums.EvidenceType;
+import com.algoaccel.hcc.model.enums.HccModelType;
+import com.algoaccel.hcc.model.enums.TierType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Micrometer meters for the evaluation hot path, exposed through /actuator/metrics.
+ *
+ * Meters are registered once per rule (and tier, branch, criterion type) and cached, so the hot path
+ * only reads a map and records a nanosecond duration. Tags: ruleId, modelType, tierType, branchId,
+ * criterionType, outcome.
+ *
+ * - hcc.evaluation.rule: evaluate(...) of one patient against one rule
+ * - hcc.evaluation.model: evaluateForModel(...)
+ * - hcc.evaluation.tier / hcc.evaluation.branch / hcc.evaluation.criterion: timers per level
+ * - hcc.evaluation.tier.fired, hcc.evaluation.branch.fired, hcc.evaluation.criterion.matched: hit counters;
+ *   hcc.evaluation.tier.fire.ratio is fired / evaluated per tier
+ * - hcc.evaluation.outcome: per-model outcome counts, including SUPPRESSED, REJECTED and RESURFACED
+ * - hcc.evaluation.port.calls: PatientDataPort calls attributed to one evaluate(...)
+ */
+@Component
+@RequiredArgsConstructor
+public class EvaluationMetrics {
+
+    /**
+     * Model outcomes counted under hcc.evaluation.outcome.
+     */
+    public enum Outcome {
+        HIGHLY_SUSPECTED,
+        MODERATELY_SUSPECTED,
+        NOT_SUSPECTED,
+        /** Suppressed by an existing validated diagnosis */
+        SUPPRESSED,
+        /** Previously rejected and no new triggering concept; kept suppressed */
+        REJECTED,
+        /** Suspected with resurfacing enabled and passed the rejection check */
+        RESURFACED
+    }
+
+    private static final long UNSAVED_RULE = -1L;
+
+    private final MeterRegistry registry;
+    private final Map<Long, RuleMeters> ruleMeters = new ConcurrentHashMap<>();
+
+    public RuleMeters forRule(Long ruleId) {
+        long key = ruleId != null ? ruleId : UNSAVED_RULE;
+        return ruleMeters.computeIfAbsent(key, k -> new RuleMeters(String.valueOf(k)));
+    }
+
+    /**
+     * Meters of one rule. Model and tier meters are created up front; branch meters on first use.
+     */
+    public final class RuleMeters {
+        private final Timer ruleTimer;
+        private final DistributionSummary portCalls;
+        private final Map<HccModelType, Timer> modelTimers = new EnumMap<>(HccModelType.class);
+        private final Map<HccModelType, Map<Outcome, Counter>> outcomes = new EnumMap<>(HccModelType.class);
+        private final Map<TierType, TierMeters> tiers = new EnumMap<>(TierType.class);
+
+        private RuleMeters(String ruleId) {
+            ruleTimer = Timer.builder("hcc.evaluation.rule")
+                    .description("Evaluation of one patient against one rule")
+                    .tag("ruleId", ruleId)
+                    .register(registry);
+            portCalls = DistributionSummary.builder("hcc.evaluation.port.calls")
+                    .description("PatientDataPort calls per evaluation of one rule")
+                    .tag("ruleId", ruleId)
+                    .register(registry);
+            for (HccModelType modelType : HccModelType.values()) {
+                modelTimers.put(modelType, Timer.builder("hcc.evaluation.model")
+                        .description("Evaluation of one rule for one model type")
+                        .tags("ruleId", ruleId, "modelType", modelType.name())
+                        .register(registry));
+                Map<Outcome, Counter> byOutcome = new EnumMap<>(Outcome.class);
+                for (Outcome outcome : Outcome.values()) {
+                    byOutcome.put(outcome, Counter.builder("hcc.evaluation.outcome")
+                            .tags("ruleId", ruleId, "modelType", modelType.name(), "outcome", outcome.name())
+                            .register(registry));
+                }
+                outcomes.put(modelType, byOutcome);
+            }
+            for (TierType tierType : TierType.values()) {
+                tiers.put(tierType, new TierMeters(ruleId, tierType.name()));
+            }
+        }
+
+        public Timer ruleTimer() {
+            return ruleTimer;
+        }
+
+        public void recordPortCalls(int calls) {
+            portCalls.record(calls);
+        }
+
+        public Timer modelTimer(HccModelType modelType) {
+            return modelTimers.get(modelType);
+        }
+
+        public void outcome(HccModelType modelType, Outcome outcome) {
+            outcomes.get(modelType).get(outcome).increment();
+        }
+
+        public TierMeters tier(TierType tierType) {
+            return tiers.get(tierType);
+        }
+    }
+
+    /**
+     * Meters of one tier of a rule, with its branches and criterion types.
+     */
+    public final class TierMeters {
+        private final String ruleId;
+        private final String tierType;
+        private final Timer tierTimer;
+        private final Counter tierEvaluated;
+        private final Counter tierFired;
+        private final Map<EvidenceType, Timer> criterionTimers = new EnumMap<>(EvidenceType.class);
+        private final Map<EvidenceType, Counter> criterionMatched = new EnumMap<>(EvidenceType.class);
+        private final Map<String, BranchMeters> branches = new ConcurrentHashMap<>();
+
+        private TierMeters(String ruleId, String tierType) {
+            this.ruleId = ruleId;
+            this.tierType = tierType;
+            tierTimer = Timer.builder("hcc.evaluation.tier")
+                    .tags("ruleId", ruleId, "tierType", tierType)
+                    .register(registry);
+            tierEvaluated = Counter.builder("hcc.evaluation.tier.evaluated")
+                    .tags("ruleId", ruleId, "tierType", tierType)
+                    .register(registry);
+            tierFired = Counter.builder("hcc.evaluation.tier.fired")
+                    .tags("ruleId", ruleId, "tierType", tierType)
+                    .register(registry);
+            Gauge.builder("hcc.evaluation.tier.fire.ratio", this,
+                            t -> t.tierEvaluated.count() > 0 ? t.tierFired.count() / t.tierEvaluated.count() : 0)
+                    .tags("ruleId", ruleId, "tierType", tierType)
+                    .register(registry);
+            for (EvidenceType type : EvidenceType.values()) {
+                criterionTimers.put(type, Timer.builder("hcc.evaluation.criterion")
+                        .tags("ruleId", ruleId, "tierType", tierType, "criterionType", type.name())
+                        .register(registry));
+                criterionMatched.put(type, Counter.builder("hcc.evaluation.criterion.matched")
+                        .tags("ruleId", ruleId, "tierType", tierType, "criterionType", type.name())
+                        .register(registry));
+            }
+        }
+
+        public void recordTier(long nanos, boolean fired) {
+            tierTimer.record(nanos, TimeUnit.NANOSECONDS);
+            tierEvaluated.increment();
+            if (fired) {
+                tierFired.increment();
+            }
+        }
+
+        public void recordCriterion(EvidenceType type, long nanos, boolean matched) {
+            if (type == null) {
+                return;
+            }
+            criterionTimers.get(type).record(nanos, TimeUnit.NANOSECONDS);
+            if (matched) {
+                criterionMatched.get(type).increment();
+            }
+        }
+
+        public BranchMeters branch(String branchId) {
+            return branches.computeIfAbsent(branchId, id -> new BranchMeters(ruleId, tierType, id));
+        }
+    }
+
+    /**
+     * Timer and fired counter of one branch; hcc.evaluation.branch count is the evaluation count.
+     */
+    public final class BranchMeters {
+        private final Timer branchTimer;
+        private final Counter branchFired;
+
+        private BranchMeters(String ruleId, String tierType, String branchId) {
+            branchTimer = Timer.builder("hcc.evaluation.branch")
+                    .tags("ruleId", ruleId, "tierType", tierType, "branchId", branchId)
+                    .register(registry);
+            branchFired = Counter.builder("hcc.evaluation.branch.fired")
+                    .tags("ruleId", ruleId, "tierType", tierType, "branchId", branchId)
+                    .register(registry);
+        }
+
+        public void record(long nanos, boolean fired) {
+            branchTimer.record(nanos, TimeUnit.NANOSECONDS);
+            if (fired) {
+                branchFired.increment();
+            }
+        }
+    }
+}
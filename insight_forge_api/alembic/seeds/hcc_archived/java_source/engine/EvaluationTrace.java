@@ -0,0 +1,119 @@
+package com.algoaccel.hcc.engine;
+
+import com.algoaccel.hcc.dto.EvaluationTraceNode;
+import com.algoaccel.hcc.port.PortCallScope;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Builds the timing tree of one traced evaluation.
+ *
+ * The evaluator calls enter/exit around each model, tier, branch and criterion. Port calls are the
+ * difference in the thread's PortCallScope count between enter and exit. Untraced evaluations pass a
+ * null trace and skip every call, so tracing costs nothing when it is off.
+ * Not thread-safe; scoped to one evaluation on one thread.
+ */
+public final class EvaluationTrace {
+
+    private final Deque<Node> open = new ArrayDeque<>();
+    private Node root;
+
+    public void enter(String kind, String name) {
+        Node node = new Node(kind, name, portCalls());
+        if (open.isEmpty()) {
+            root = node;
+        } else {
+            open.peek().children.add(node);
+        }
+        open.push(node);
+    }
+
+    /**
+     * Close the innermost node.
+     *
+     * @param matched whether it fired / matched, or null
+     * @param rowsScanned evidence rows the node itself examined (children are added automatically)
+     */
+    public void exit(Boolean matched, long rowsScanned) {
+        Node node = open.pop();
+        node.nanos = System.nanoTime() - node.start;
+        node.matched = matched;
+        node.portCalls = portCalls() - node.portCallsAtStart;
+        node.rowsScanned += rowsScanned;
+        if (node.portCalls == 0 && "CRITERION".equals(node.kind)) {
+            // Evidence already loaded for an earlier criterion
+            node.cacheHits++;
+        }
+        Node parent = open.peek();
+        if (parent != null) {
+            parent.rowsScanned += node.rowsScanned;
+            parent.cacheHits += node.cacheHits;
+        }
+    }
+
+    public int depth() {
+        return open.size();
+    }
+
+    /**
+     * Close nodes left open by an exception until depth nodes remain.
+     */
+    public void unwind(int depth) {
+        while (open.size() > depth) {
+            exit(null, 0);
+        }
+    }
+
+    /**
+     * Record a result reused from an earlier evaluation step, e.g. a tier shared across models.
+     */
+    public void cacheHit(String kind, String name, Boolean matched) {
+        enter(kind, name + " (cached)");
+        open.peek().cacheHits++;
+        exit(matched, 0);
+    }
+
+    public EvaluationTraceNode toNode() {
+        return root != null ? root.toNode() : null;
+    }
+
+    private static int portCalls() {
+        PortCallScope scope = PortCallScope.current();
+        return scope != null ? scope.totalCalls() : 0;
+    }
+
+    private static final class Node {
+        final String kind;
+        final String name;
+        final long start = System.nanoTime();
+        final int portCallsAtStart;
+        final List<Node> children = new ArrayList<>();
+        long nanos;
+        Boolean matched;
+        long rowsScanned;
+        int portCalls;
+        int cacheHits;
+
+        Node(String kind, String name, int portCallsAtStart) {
+            this.kind = kind;
+            this.name = name;
+            this.portCallsAtStart = portCallsAtStart;
+        }
+
+        EvaluationTraceNode toNode() {
+            return EvaluationTraceNode.builder()
+                    .kind(kind)
+                    .name(name)
+                    .durationMicros(nanos / 1_000)
+                    .matched(matched)
+                    .rowsScanned(rowsScanned)
+                    .portCalls(portCalls)
+                    .cacheHits(cacheHits)
+                    .children(children.stream().map(Node::toNode).toList())
+                    .build();
+        }
+    }
+}
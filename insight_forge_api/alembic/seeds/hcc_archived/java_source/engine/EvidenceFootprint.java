@@ -0,0 +1,62 @@
+package com.algoaccel.hcc.engine;
+
+import com.algoaccel.hcc.model.enums.EvidenceType;
+import com.algoaccel.hcc.model.enums.HccModelType;
+
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * The concept aliases and evidence kinds a rule (or set of rules) can read, and the models whose
+ * diagnoses DIAGNOSIS criteria are evaluated against.
+ * Used to load a patient's evidence once before evaluation instead of per criterion.
+ */
+public record EvidenceFootprint(
+        Set<String> labConceptAliases,
+        Set<String> medicationConceptAliases,
+        Set<String> diagnosisConceptAliases,
+        Set<HccModelType> diagnosisModels) {
+
+    public static final EvidenceFootprint EMPTY = new EvidenceFootprint(Set.of(), Set.of(), Set.of(), Set.of());
+
+    public static EvidenceFootprint of(Collection<CompiledTier> tiers, Set<HccModelType> enabledModels) {
+        Set<String> labs = new LinkedHashSet<>();
+        Set<String> meds = new LinkedHashSet<>();
+        Set<String> diagnoses = new LinkedHashSet<>();
+
+        for (CompiledTier tier : tiers) {
+            for (CompiledBranch branch : tier.branches()) {
+                for (CompiledCriterion criterion : branch.criteria()) {
+                    if (criterion.type() == EvidenceType.LAB) {
+                        labs.add(criterion.conceptAlias());
+                    } else if (criterion.type() == EvidenceType.MEDICATION) {
+                        meds.add(criterion.conceptAlias());
+                    } else if (criterion.type() == EvidenceType.DIAGNOSIS) {
+                        diagnoses.add(criterion.conceptAlias());
+                    }
+                }
+            }
+        }
+        Set<HccModelType> models = diagnoses.isEmpty() ? Set.of() : Set.copyOf(enabledModels);
+        return new EvidenceFootprint(Set.copyOf(labs), Set.copyOf(meds), Set.copyOf(diagnoses), models);
+    }
+
+    public boolean diagnosesRequired() {
+        return !diagnosisConceptAliases.isEmpty() && !diagnosisModels.isEmpty();
+    }
+
+    public EvidenceFootprint merge(EvidenceFootprint other) {
+        Set<String> labs = new LinkedHashSet<>(labConceptAliases);
+        labs.addAll(other.labConceptAliases);
+        Set<String> meds = new LinkedHashSet<>(medicationConceptAliases);
+        meds.addAll(other.medicationConceptAliases);
+        Set<String> diagnoses = new LinkedHashSet<>(diagnosisConceptAliases);
+        diagnoses.addAll(other.diagnosisConceptAliases);
+        Set<HccModelType> models = EnumSet.noneOf(HccModelType.class);
+        models.addAll(diagnosisModels);
+        models.addAll(other.diagnosisModels);
+        return new EvidenceFootprint(Set.copyOf(labs), Set.copyOf(meds), Set.copyOf(diagnoses), Set.copyOf(models));
+    }
+}
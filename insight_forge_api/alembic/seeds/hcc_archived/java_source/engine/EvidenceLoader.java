@@ -0,0 +1,99 @@
+package com.algoaccel.hcc.engine;
+
+import com.algoaccel.hcc.dto.DiagnosisDto;
+import com.algoaccel.hcc.dto.LabResultDto;
+import com.algoaccel.hcc.dto.MedicationOrderDto;
+import com.algoaccel.hcc.model.enums.HccModelType;
+import com.algoaccel.hcc.port.PatientDataPort;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Prefetches everything an evidence footprint needs for one patient, or for a chunk of patients:
+ * at most one lab query, one medication query and one diagnosis query per model either way.
+ * For single evaluations that usually stop at the first criterion, lazy() defers each fetch
+ * until a criterion actually reads it.
+ */
+@Component
+@RequiredArgsConstructor
+public class EvidenceLoader {
+
+    private final PatientDataPort patientDataPort;
+
+    public PatientEvidence load(String patientId, EvidenceFootprint footprint, LocalDate windowStart, LocalDate windowEnd) {
+        List<LabResultDto> labs = footprint.labConceptAliases().isEmpty()
+                ? Collections.emptyList()
+                : patientDataPort.getLabResults(
+                        patientId, new ArrayList<>(footprint.labConceptAliases()), windowStart, windowEnd);
+
+        List<MedicationOrderDto> meds = footprint.medicationConceptAliases().isEmpty()
+                ? Collections.emptyList()
+                : patientDataPort.getMedicationOrders(
+                        patientId, new ArrayList<>(footprint.medicationConceptAliases()), windowStart, windowEnd);
+
+        Map<HccModelType, List<DiagnosisDto>> diagnoses = new EnumMap<>(HccModelType.class);
+        if (footprint.diagnosesRequired()) {
+            for (HccModelType model : footprint.diagnosisModels()) {
+                diagnoses.put(model, patientDataPort.getDiagnoses(patientId, model.name()));
+            }
+        }
+
+        return new PrefetchedPatientEvidence(patientId, windowStart, windowEnd, labs, meds, diagnoses);
+    }
+
+    /**
+     * Evidence for one patient that is fetched per concept alias only when a criterion reads it.
+     */
+    public PatientEvidence lazy(String patientId, LocalDate windowStart, LocalDate windowEnd) {
+        return new LazyPatientEvidence(patientDataPort, patientId, windowStart, windowEnd);
+    }
+
+    /**
+     * Load evidence for a chunk of patients with set-based queries.
+     * Every requested patient gets an entry, even when no evidence was found.
+     */
+    public Map<String, PatientEvidence> loadAll(
+            List<String> patientIds, EvidenceFootprint footprint, LocalDate windowStart, LocalDate windowEnd) {
+
+        Map<String, List<LabResultDto>> labs = footprint.labConceptAliases().isEmpty()
+                ? Collections.emptyMap()
+                : patientDataPort.getLabResultsForPatients(
+                                patientIds, new ArrayList<>(footprint.labConceptAliases()), windowStart, windowEnd)
+                        .stream()
+                        .collect(Collectors.groupingBy(LabResultDto::getPatientId));
+
+        Map<String, List<MedicationOrderDto>> meds = footprint.medicationConceptAliases().isEmpty()
+                ? Collections.emptyMap()
+                : patientDataPort.getMedicationOrdersForPatients(
+                                patientIds, new ArrayList<>(footprint.medicationConceptAliases()), windowStart, windowEnd)
+                        .stream()
+                        .collect(Collectors.groupingBy(MedicationOrderDto::getPatientId));
+
+        Map<HccModelType, Map<String, List<DiagnosisDto>>> diagnoses = new EnumMap<>(HccModelType.class);
+        if (footprint.diagnosesRequired()) {
+            for (HccModelType model : footprint.diagnosisModels()) {
+                diagnoses.put(model, patientDataPort.getDiagnosesForPatients(patientIds, model.name()).stream()
+                        .collect(Collectors.groupingBy(DiagnosisDto::getPatientId)));
+            }
+        }
+
+        Map<String, PatientEvidence> evidence = new HashMap<>(patientIds.size() * 2);
+        for (String patientId : patientIds) {
+            Map<HccModelType, List<DiagnosisDto>> patientDiagnoses = new EnumMap<>(HccModelType.class);
+            diagnoses.forEach((model, byPatient) ->
+                    patientDiagnoses.put(model, byPatient.getOrDefault(patientId, Collections.emptyList())));
+            evidence.put(patientId, new PrefetchedPatientEvidence(
+                    patientId,
+                    windowStart,
+                    windowEnd,
+                    labs.getOrDefault(patientId, Collections.emptyList()),
+                    meds.getOrDefault(patientId, Collections.emptyList()),
+                    patientDiagnoses));
+        }
+        return evidence;
+    }
+}
@@ -0,0 +1,279 @@
+package com.algoaccel.hcc.engine;
+
+import com.algoaccel.hcc.dto.LabResultDto;
+import com.algoaccel.hcc.model.enums.QualifierType;
+import com.algoaccel.hcc.model.enums.TemporalOperator;
+
+import java.math.BigDecimal;
+import java.util.*;
+
+/**
+ * Columnar, primitive lab time series for one patient and concept alias.
+ *
+ * Positions are sorted by result date ascending. Results on the same date are stored in reverse
+ * source order, so walking positions from size()-1 down to 0 yields the evaluator's order:
+ * most recent first, ties in source order. MOST_RECENT is position size()-1 and FIRST is position 0.
+ *
+ * Selectors, qualifiers and thresholds read the int/double/byte columns directly. The exact
+ * BigDecimal column is kept only to render SupportingFacts.
+ *
+ * Threshold qualifiers are monotone, so "latest match in a position range" is answered with a
+ * range-max (or range-min) segment tree, built on first use for series longer than SCAN_LIMIT.
+ * Combined with binary-searched date bounds this makes temporal constraints logarithmic.
+ */
+public final class LabSeries {
+
+    public static final LabSeries EMPTY = new LabSeries(new int[0], new double[0], new byte[0], new byte[0],
+            new String[0], new BigDecimal[0]);
+
+    private static final byte QUALITATIVE_OTHER = 0;
+    private static final byte QUALITATIVE_POSITIVE = 1;
+    private static final byte QUALITATIVE_NEGATIVE = 2;
+    private static final byte NO_QUALITATIVE = -1;
+
+    /**
+     * Ranges up to this many positions are scanned; longer ones use the segment trees.
+     */
+    private static final int SCAN_LIMIT = 32;
+
+    private final int[] epochDays;
+    private final double[] values;
+    private final byte[] qualitativeFlags;
+    private final byte[] qualitativeCodes;
+    private final String[] qualitativeDictionary;
+    private final BigDecimal[] exactValues;
+
+    /**
+     * Max and min of values per segment tree node, missing values excluded. Built on first use.
+     */
+    private volatile double[][] valueTrees;
+
+    private LabSeries(int[] epochDays, double[] values, byte[] qualitativeFlags, byte[] qualitativeCodes,
+                      String[] qualitativeDictionary, BigDecimal[] exactValues) {
+        this.epochDays = epochDays;
+        this.values = values;
+        this.qualitativeFlags = qualitativeFlags;
+        this.qualitativeCodes = qualitativeCodes;
+        this.qualitativeDictionary = qualitativeDictionary;
+        this.exactValues = exactValues;
+    }
+
+    /**
+     * Build a series from lab results of a single concept alias, in source order.
+     */
+    public static LabSeries of(List<LabResultDto> labs) {
+        if (labs.isEmpty()) {
+            return EMPTY;
+        }
+
+        // Stable sort, most recent first, then fill positions back to front
+        List<LabResultDto> sorted = new ArrayList<>(labs);
+        sorted.sort((a, b) -> b.getResultDate().compareTo(a.getResultDate()));
+
+        int n = sorted.size();
+        int[] epochDays = new int[n];
+        double[] values = new double[n];
+        byte[] flags = new byte[n];
+        byte[] codes = new byte[n];
+        BigDecimal[] exact = new BigDecimal[n];
+        Map<String, Byte> dictionary = new LinkedHashMap<>();
+
+        for (int k = 0; k < n; k++) {
+            LabResultDto lab = sorted.get(k);
+            int pos = n - 1 - k;
+            epochDays[pos] = (int) lab.getResultDate().toEpochDay();
+            exact[pos] = lab.getQuantitativeResult();
+            values[pos] = exact[pos] != null ? exact[pos].doubleValue() : Double.NaN;
+
+            String qualitative = lab.getQualitativeResult();
+            if (qualitative == null) {
+                codes[pos] = NO_QUALITATIVE;
+                flags[pos] = QUALITATIVE_OTHER;
+            } else {
+                // Byte codes: a lab concept has a handful of distinct qualitative results
+                codes[pos] = dictionary.computeIfAbsent(qualitative, q -> (byte) dictionary.size());
+                flags[pos] = "POSITIVE".equalsIgnoreCase(qualitative) ? QUALITATIVE_POSITIVE
+                        : "NEGATIVE".equalsIgnoreCase(qualitative) ? QUALITATIVE_NEGATIVE
+                        : QUALITATIVE_OTHER;
+            }
+        }
+
+        return new LabSeries(epochDays, values, flags, codes, dictionary.keySet().toArray(new String[0]), exact);
+    }
+
+    public int size() {
+        return epochDays.length;
+    }
+
+    public int epochDay(int pos) {
+        return epochDays[pos];
+    }
+
+    public double value(int pos) {
+        return values[pos];
+    }
+
+    public boolean hasValue(int pos) {
+        return !Double.isNaN(values[pos]);
+    }
+
+    public String qualitativeResult(int pos) {
+        byte code = qualitativeCodes[pos];
+        return code == NO_QUALITATIVE ? null : qualitativeDictionary[code];
+    }
+
+    public BigDecimal exactValue(int pos) {
+        return exactValues[pos];
+    }
+
+    /**
+     * First position with epochDay >= day (size() if none).
+     */
+    public int lowerBound(int day) {
+        int lo = 0;
+        int hi = epochDays.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (epochDays[mid] < day) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * First position with epochDay > day (size() if none).
+     */
+    public int upperBound(int day) {
+        return lowerBound(day == Integer.MAX_VALUE ? day : day + 1);
+    }
+
+    /**
+     * Tests the result at a position against a criterion's qualifier.
+     */
+    public boolean matches(int pos, CompiledCriterion criterion) {
+        QualifierType qualifier = criterion.qualifier();
+        if (qualifier == QualifierType.POSITIVE) {
+            return qualitativeFlags[pos] == QUALITATIVE_POSITIVE;
+        } else if (qualifier == QualifierType.NEGATIVE) {
+            return qualitativeFlags[pos] == QUALITATIVE_NEGATIVE;
+        }
+        double value = values[pos];
+        return !Double.isNaN(value) && criterion.matchesValue(value);
+    }
+
+    /**
+     * Highest (most recent) position in [lo, hi) matching the criterion, or -1.
+     */
+    public int lastMatch(CompiledCriterion criterion, int lo, int hi) {
+        if (lo >= hi) {
+            return -1;
+        }
+        if (hi - lo > SCAN_LIMIT && criterion.hasThreshold() && criterion.qualifier() != null) {
+            double[][] trees = valueTrees();
+            int leaves = trees[0].length / 2;
+            double threshold = criterion.threshold();
+            switch (criterion.qualifier()) {
+                case GREATER_THAN:
+                    return lastAbove(trees[0], 1, 0, leaves, lo, hi, threshold, true);
+                case GREATER_THAN_OR_EQUAL:
+                    return lastAbove(trees[0], 1, 0, leaves, lo, hi, threshold, false);
+                case LESS_THAN:
+                    return lastBelow(trees[1], 1, 0, leaves, lo, hi, threshold, true);
+                case LESS_THAN_OR_EQUAL:
+                    return lastBelow(trees[1], 1, 0, leaves, lo, hi, threshold, false);
+                default:
+                    break;
+            }
+        }
+        for (int pos = hi - 1; pos >= lo; pos--) {
+            if (matches(pos, criterion)) {
+                return pos;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Most recent position in [lo, hi) matching the criterion and dated relative to referenceDay:
+     * at least minDays before it (BEFORE), at least minDays after it (AFTER) or on it (SAME_DAY); -1 if none.
+     */
+    public int lastMatchRelative(CompiledCriterion criterion, int lo, int hi,
+                                 TemporalOperator operator, int referenceDay, int minDays) {
+        switch (operator) {
+            case BEFORE -> hi = Math.min(hi, upperBound(clampDay((long) referenceDay - minDays)));
+            case AFTER -> lo = Math.max(lo, lowerBound(clampDay((long) referenceDay + minDays)));
+            case SAME_DAY -> {
+                lo = Math.max(lo, lowerBound(referenceDay));
+                hi = Math.min(hi, upperBound(referenceDay));
+            }
+        }
+        return lastMatch(criterion, lo, hi);
+    }
+
+    /**
+     * Most recent position in [lo, hi) matching the criterion and dated strictly after afterDay and
+     * strictly before beforeDay, or -1.
+     */
+    public int lastMatchBetween(CompiledCriterion criterion, int lo, int hi, int afterDay, int beforeDay) {
+        return lastMatch(criterion, Math.max(lo, upperBound(afterDay)), Math.min(hi, lowerBound(beforeDay)));
+    }
+
+    private static int clampDay(long epochDay) {
+        return (int) Math.max(Integer.MIN_VALUE + 1, Math.min(Integer.MAX_VALUE - 1, epochDay));
+    }
+
+    private static int lastAbove(double[] maxTree, int node, int nodeLo, int nodeHi,
+                                 int lo, int hi, double threshold, boolean strict) {
+        double max = maxTree[node];
+        if (nodeHi <= lo || nodeLo >= hi || (strict ? !(max > threshold) : !(max >= threshold))) {
+            return -1;
+        }
+        if (nodeHi - nodeLo == 1) {
+            return nodeLo;
+        }
+        int mid = (nodeLo + nodeHi) >>> 1;
+        int pos = lastAbove(maxTree, 2 * node + 1, mid, nodeHi, lo, hi, threshold, strict);
+        return pos >= 0 ? pos : lastAbove(maxTree, 2 * node, nodeLo, mid, lo, hi, threshold, strict);
+    }
+
+    private static int lastBelow(double[] minTree, int node, int nodeLo, int nodeHi,
+                                 int lo, int hi, double threshold, boolean strict) {
+        double min = minTree[node];
+        if (nodeHi <= lo || nodeLo >= hi || (strict ? !(min < threshold) : !(min <= threshold))) {
+            return -1;
+        }
+        if (nodeHi - nodeLo == 1) {
+            return nodeLo;
+        }
+        int mid = (nodeLo + nodeHi) >>> 1;
+        int pos = lastBelow(minTree, 2 * node + 1, mid, nodeHi, lo, hi, threshold, strict);
+        return pos >= 0 ? pos : lastBelow(minTree, 2 * node, nodeLo, mid, lo, hi, threshold, strict);
+    }
+
+    private double[][] valueTrees() {
+        double[][] trees = valueTrees;
+        if (trees == null) {
+            int leaves = Integer.highestOneBit(Math.max(1, values.length - 1)) << 1;
+            double[] maxTree = new double[2 * leaves];
+            double[] minTree = new double[2 * leaves];
+            Arrays.fill(maxTree, Double.NEGATIVE_INFINITY);
+            Arrays.fill(minTree, Double.POSITIVE_INFINITY);
+            for (int pos = 0; pos < values.length; pos++) {
+                if (!Double.isNaN(values[pos])) {
+                    maxTree[leaves + pos] = values[pos];
+                    minTree[leaves + pos] = values[pos];
+                }
+            }
+            for (int node = leaves - 1; node >= 1; node--) {
+                maxTree[node] = Math.max(maxTree[2 * node], maxTree[2 * node + 1]);
+                minTree[node] = Math.min(minTree[2 * node], minTree[2 * node + 1]);
+            }
+            trees = new double[][] {maxTree, minTree};
+            valueTrees = trees;
+        }
+        return trees;
+    }
+}
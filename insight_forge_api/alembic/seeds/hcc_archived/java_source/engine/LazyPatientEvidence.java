@@ -0,0 +1,44 @@
+package com.algoaccel.hcc.engine;
+
+import com.algoaccel.hcc.dto.MedicationOrderDto;
+import com.algoaccel.hcc.model.enums.HccModelType;
+import com.algoaccel.hcc.port.PatientDataPort;
+
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Patient evidence fetched from PatientDataPort only when a criterion first reads it,
+ * then memoized per concept alias (diagnoses per model) for the rest of the evaluation.
+ * Not thread-safe; scoped to one evaluation on one thread.
+ */
+public class LazyPatientEvidence extends PatientEvidence {
+
+    private final PatientDataPort patientDataPort;
+    private final Map<String, LabSeries> labsByAlias = new HashMap<>();
+    private final Map<String, List<MedicationOrderDto>> medicationsByAlias = new HashMap<>();
+    private final Map<HccModelType, DiagnosisIndex> diagnosesByModel = new EnumMap<>(HccModelType.class);
+
+    public LazyPatientEvidence(PatientDataPort patientDataPort, String patientId, LocalDate windowStart, LocalDate windowEnd) {
+        super(patientId, windowStart, windowEnd);
+        this.patientDataPort = patientDataPort;
+    }
+
+    @Override
+    public DiagnosisIndex diagnoses(HccModelType modelType) {
+        return diagnosesByModel.computeIfAbsent(modelType, model ->
+                DiagnosisIndex.of(patientDataPort.getDiagnoses(patientId, model.name())));
+    }
+
+    @Override
+    public LabSeries labs(String conceptAlias) {
+        return labsByAlias.computeIfAbsent(conceptAlias, alias ->
+                LabSeries.of(patientDataPort.getLabResults(patientId, alias, windowStart, windowEnd)));
+    }
+
+    @Override
+    protected List<MedicationOrderDto> loadedMedications(String conceptAlias) {
+        return medicationsByAlias.computeIfAbsent(conceptAlias, alias ->
+                patientDataPort.getMedicationOrders(patientId, Collections.singletonList(alias), windowStart, windowEnd));
+    }
+}
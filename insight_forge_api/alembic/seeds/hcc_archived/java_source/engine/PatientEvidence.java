@@ -0,0 +1,62 @@
+package com.algoaccel.hcc.engine;
+
+import com.algoaccel.hcc.dto.MedicationOrderDto;
+import com.algoaccel.hcc.model.enums.HccModelType;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * A patient's labs, medication orders and (per model) diagnoses as seen by the evaluator.
+ * Evidence is held for a loaded window; narrower rule windows are filtered in memory.
+ * Labs are returned per concept alias as a columnar LabSeries; callers bound it to their
+ * window with binary search instead of filtering.
+ */
+public abstract class PatientEvidence {
+
+    protected final String patientId;
+    protected final LocalDate windowStart;
+    protected final LocalDate windowEnd;
+
+    protected PatientEvidence(String patientId, LocalDate windowStart, LocalDate windowEnd) {
+        this.patientId = patientId;
+        this.windowStart = windowStart;
+        this.windowEnd = windowEnd;
+    }
+
+    public String getPatientId() {
+        return patientId;
+    }
+
+    /**
+     * All labs for a concept alias in the loaded window.
+     */
+    public abstract LabSeries labs(String conceptAlias);
+
+    /**
+     * Medication orders for a concept alias started within [start, end].
+     */
+    public List<MedicationOrderDto> medications(String conceptAlias, LocalDate start, LocalDate end) {
+        List<MedicationOrderDto> meds = loadedMedications(conceptAlias);
+        if (coversLoadedWindow(start, end)) {
+            return meds;
+        }
+        return meds.stream()
+                .filter(m -> !m.getStartDate().isBefore(start) && !m.getStartDate().isAfter(end))
+                .toList();
+    }
+
+    /**
+     * The patient's diagnoses for a model, indexed by HCC category and ICD code.
+     */
+    public abstract DiagnosisIndex diagnoses(HccModelType modelType);
+
+    /**
+     * All medication orders for a concept alias in the loaded window.
+     */
+    protected abstract List<MedicationOrderDto> loadedMedications(String conceptAlias);
+
+    private boolean coversLoadedWindow(LocalDate start, LocalDate end) {
+        return !start.isAfter(windowStart) && !end.isBefore(windowEnd);
+    }
+}
@@ -0,0 +1,57 @@
+package com.algoaccel.hcc.engine;
+
+import com.algoaccel.hcc.dto.DiagnosisDto;
+import com.algoaccel.hcc.dto.LabResultDto;
+import com.algoaccel.hcc.dto.MedicationOrderDto;
+import com.algoaccel.hcc.model.enums.HccModelType;
+
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Patient evidence loaded up front for an evidence footprint over the widest lookback window.
+ */
+public class PrefetchedPatientEvidence extends PatientEvidence {
+
+    private final Map<String, LabSeries> labsByAlias;
+    private final Map<String, List<MedicationOrderDto>> medicationsByAlias;
+    private final Map<HccModelType, DiagnosisIndex> diagnosesByModel;
+
+    public PrefetchedPatientEvidence(
+            String patientId,
+            LocalDate windowStart,
+            LocalDate windowEnd,
+            List<LabResultDto> labs,
+            List<MedicationOrderDto> medications,
+            Map<HccModelType, List<DiagnosisDto>> diagnosesByModel) {
+        super(patientId, windowStart, windowEnd);
+        Map<String, List<LabResultDto>> grouped = new HashMap<>();
+        for (LabResultDto lab : labs) {
+            grouped.computeIfAbsent(lab.getConceptAlias(), k -> new ArrayList<>()).add(lab);
+        }
+        this.labsByAlias = new HashMap<>();
+        grouped.forEach((alias, aliasLabs) -> labsByAlias.put(alias, LabSeries.of(aliasLabs)));
+        this.medicationsByAlias = new HashMap<>();
+        for (MedicationOrderDto med : medications) {
+            medicationsByAlias.computeIfAbsent(med.getConceptAlias(), k -> new ArrayList<>()).add(med);
+        }
+        this.diagnosesByModel = new EnumMap<>(HccModelType.class);
+        diagnosesByModel.forEach((model, modelDiagnoses) ->
+                this.diagnosesByModel.put(model, DiagnosisIndex.of(modelDiagnoses)));
+    }
+
+    @Override
+    public DiagnosisIndex diagnoses(HccModelType modelType) {
+        return diagnosesByModel.getOrDefault(modelType, DiagnosisIndex.EMPTY);
+    }
+
+    @Override
+    public LabSeries labs(String conceptAlias) {
+        return labsByAlias.getOrDefault(conceptAlias, LabSeries.EMPTY);
+    }
+
+    @Override
+    protected List<MedicationOrderDto> loadedMedications(String conceptAlias) {
+        return medicationsByAlias.getOrDefault(conceptAlias, Collections.emptyList());
+    }
+}
@@ -0,0 +1,132 @@
+package com.algoaccel.hcc.engine;
+
+import com.algoaccel.hcc.model.HccRuleRejectionState;
+import com.algoaccel.hcc.model.enums.HccModelType;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Rejection states of one rule: each rejected patient's last triggering concept alias per model.
+ *
+ * Most patients were never rejected, so lookups first ask a Bloom filter of rejected patient ids and
+ * only touch the map on a (possible) hit. Concept aliases are dictionary-encoded; a patient costs one
+ * small int array indexed by model. Entries are updated in place as rejections are recorded; readers
+ * may run concurrently with updates.
+ */
+public final class RejectionSnapshot {
+
+    private static final int NOT_REJECTED = -1;
+    private static final int NO_CONCEPT = -2;
+    private static final HccModelType[] MODELS = HccModelType.values();
+
+    private final Long ruleId;
+    private final BloomFilter rejectedPatients;
+    private final Map<String, int[]> conceptsByPatient;
+    private final List<String> concepts = new CopyOnWriteArrayList<>();
+    private final Map<String, Integer> conceptCodes = new ConcurrentHashMap<>();
+
+    private RejectionSnapshot(Long ruleId, int expectedPatients) {
+        this.ruleId = ruleId;
+        // Leave room for rejections recorded after the load
+        this.rejectedPatients = new BloomFilter(Math.max(1024, expectedPatients * 2));
+        this.conceptsByPatient = new ConcurrentHashMap<>(Math.max(16, expectedPatients * 4 / 3));
+    }
+
+    public static RejectionSnapshot of(Long ruleId, Collection<HccRuleRejectionState> states) {
+        RejectionSnapshot snapshot = new RejectionSnapshot(ruleId, states.size());
+        for (HccRuleRejectionState state : states) {
+            snapshot.put(state.getPatientId(), state.getModelType(), state.getLastTriggeringConceptAlias());
+        }
+        return snapshot;
+    }
+
+    public Long getRuleId() {
+        return ruleId;
+    }
+
+    /**
+     * The patient's rejection for a model, or empty when the patient was never rejected for it.
+     */
+    public Optional<Rejection> find(String patientId, HccModelType modelType) {
+        if (!rejectedPatients.mightContain(patientId)) {
+            return Optional.empty();
+        }
+        int[] codes = conceptsByPatient.get(patientId);
+        if (codes == null) {
+            return Optional.empty();
+        }
+        int code = codes[modelType.ordinal()];
+        if (code == NOT_REJECTED) {
+            return Optional.empty();
+        }
+        return Optional.of(new Rejection(code == NO_CONCEPT ? null : concepts.get(code)));
+    }
+
+    /**
+     * Record (or replace) a patient's rejection for a model.
+     */
+    public void put(String patientId, HccModelType modelType, String lastTriggeringConceptAlias) {
+        int code = lastTriggeringConceptAlias != null ? encode(lastTriggeringConceptAlias) : NO_CONCEPT;
+        // Filter first, so a reader that sees the map entry also passes the filter
+        rejectedPatients.add(patientId);
+        conceptsByPatient.compute(patientId, (id, current) -> withCode(current, modelType, code));
+    }
+
+    /**
+     * Forget a patient's rejection for a model. The patient stays in the filter; the map answers.
+     */
+    public void remove(String patientId, HccModelType modelType) {
+        conceptsByPatient.computeIfPresent(patientId, (id, current) -> {
+            int[] updated = withCode(current, modelType, NOT_REJECTED);
+            for (int code : updated) {
+                if (code != NOT_REJECTED) {
+                    return updated;
+                }
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Number of patients with at least one rejection.
+     */
+    public int size() {
+        return conceptsByPatient.size();
+    }
+
+    /**
+     * Copy on write, so concurrent readers never see a half-updated array.
+     */
+    private static int[] withCode(int[] current, HccModelType modelType, int code) {
+        int[] updated;
+        if (current != null) {
+            updated = current.clone();
+        } else {
+            updated = new int[MODELS.length];
+            Arrays.fill(updated, NOT_REJECTED);
+        }
+        updated[modelType.ordinal()] = code;
+        return updated;
+    }
+
+    private int encode(String conceptAlias) {
+        Integer code = conceptCodes.get(conceptAlias);
+        if (code != null) {
+            return code;
+        }
+        synchronized (concepts) {
+            return conceptCodes.computeIfAbsent(conceptAlias, alias -> {
+                concepts.add(alias);
+                return concepts.size() - 1;
+            });
+        }
+    }
+
+    /**
+     * A recorded rejection; the concept alias is null when none was recorded.
+     */
+    public record Rejection(String lastTriggeringConceptAlias) {
+    }
+}
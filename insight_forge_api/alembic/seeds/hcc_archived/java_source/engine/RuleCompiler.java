@@ -0,0 +1,420 @@
+package com.algoaccel.hcc.engine;
+
+import com.algoaccel.hcc.model.HccClientConfig;
+import com.algoaccel.hcc.model.HccSuppressionConfig;
+import com.algoaccel.hcc.model.HccSuspectRule;
+import com.algoaccel.hcc.model.StratificationTier;
+import com.algoaccel.hcc.model.enums.BranchLogic;
+import com.algoaccel.hcc.model.enums.CombinationType;
+import com.algoaccel.hcc.model.enums.EvidenceType;
+import com.algoaccel.hcc.model.enums.HccModelType;
+import com.algoaccel.hcc.model.enums.QualifierType;
+import com.algoaccel.hcc.model.enums.ResultSelector;
+import com.algoaccel.hcc.model.enums.TemporalOperator;
+import com.algoaccel.hcc.model.enums.TierType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compiles StratificationTier.criteriaJson into immutable, typed evaluation plans.
+ * Plans are cached per tier id, rule version and tier version, so JSON parsing happens once per
+ * revision instead of once per patient, model and tier evaluation.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RuleCompiler {
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Compiled tiers by tier id. Each entry carries the rule and tier versions it was compiled for;
+     * a version mismatch recompiles and replaces the entry. The tier version matters on its own:
+     * editing a tier does not bump its rule's version.
+     */
+    private final Map<Long, CachedTier> tierCache = new ConcurrentHashMap<>();
+
+    /**
+     * Compile an (effective) rule: tier plans from the cache plus model enablement,
+     * suppression configs and the rule's evidence footprint.
+     */
+    public CompiledRule compileRule(HccSuspectRule rule) {
+        Set<HccModelType> enabledModels = EnumSet.noneOf(HccModelType.class);
+        if (Boolean.TRUE.equals(rule.getCmsEnabled())) {
+            enabledModels.add(HccModelType.CMS);
+        }
+        if (Boolean.TRUE.equals(rule.getHhsEnabled())) {
+            enabledModels.add(HccModelType.HHS);
+        }
+        if (Boolean.TRUE.equals(rule.getEsrdEnabled())) {
+            enabledModels.add(HccModelType.ESRD);
+        }
+
+        Map<HccModelType, CompiledSuppression> suppressionByModel = new EnumMap<>(HccModelType.class);
+        for (HccSuppressionConfig config : rule.getSuppressionConfigs()) {
+            suppressionByModel.putIfAbsent(config.getModelType(), new CompiledSuppression(
+                    config.getModelType(),
+                    config.getTargetHcc(),
+                    parseSuppressionStates(config),
+                    Boolean.TRUE.equals(config.getResurfacingEnabled())));
+        }
+
+        CompiledTier hs = findTier(rule, TierType.HIGHLY_SUSPECTED);
+        CompiledTier ms = findTier(rule, TierType.MODERATELY_SUSPECTED);
+        List<CompiledTier> tiers = new ArrayList<>();
+        if (hs != null) {
+            tiers.add(hs);
+        }
+        if (ms != null) {
+            tiers.add(ms);
+        }
+
+        return new CompiledRule(
+                rule.getId(),
+                rule.getVersion(),
+                rule.getName(),
+                rule.getHccCategory(),
+                rule.getConditionName(),
+                rule.getLookbackYears(),
+                Collections.unmodifiableSet(enabledModels),
+                Collections.unmodifiableMap(suppressionByModel),
+                hs,
+                ms,
+                EvidenceFootprint.of(tiers, enabledModels));
+    }
+
+    /**
+     * Compile an effective rule and bake in a client's branch and threshold overrides.
+     * Disabled branches are dropped and thresholds in thresholdOverridesJson (conceptAlias to value)
+     * replace those of threshold criteria on that alias. Overridden tiers are copies; the shared
+     * tier cache keeps the canonical plans.
+     */
+    public CompiledRule compileRule(HccSuspectRule rule, HccClientConfig clientConfig) {
+        CompiledRule base = compileRule(rule);
+        if (clientConfig == null) {
+            return base;
+        }
+
+        Set<String> disabledBranchIds = parseDisabledBranchIds(clientConfig);
+        Map<String, Double> thresholdOverrides = parseThresholdOverrides(clientConfig);
+        if (disabledBranchIds.isEmpty() && thresholdOverrides.isEmpty()) {
+            return base;
+        }
+
+        CompiledTier hs = applyOverrides(base.highlySuspected(), disabledBranchIds, thresholdOverrides);
+        CompiledTier ms = applyOverrides(base.moderatelySuspected(), disabledBranchIds, thresholdOverrides);
+        List<CompiledTier> tiers = new ArrayList<>();
+        if (hs != null) {
+            tiers.add(hs);
+        }
+        if (ms != null) {
+            tiers.add(ms);
+        }
+
+        return new CompiledRule(
+                base.ruleId(),
+                base.version(),
+                base.name(),
+                base.hccCategory(),
+                base.conditionName(),
+                base.lookbackYears(),
+                base.enabledModels(),
+                base.suppressionByModel(),
+                hs,
+                ms,
+                EvidenceFootprint.of(tiers, base.enabledModels()));
+    }
+
+    private static CompiledTier applyOverrides(
+            CompiledTier tier, Set<String> disabledBranchIds, Map<String, Double> thresholdOverrides) {
+        if (tier == null || !tier.evaluable()) {
+            return tier;
+        }
+        List<CompiledBranch> branches = new ArrayList<>(tier.branches().size());
+        for (CompiledBranch branch : tier.branches()) {
+            if (disabledBranchIds.contains(branch.branchId())) {
+                continue;
+            }
+            List<CompiledCriterion> criteria = new ArrayList<>(branch.criteria().size());
+            for (CompiledCriterion criterion : branch.criteria()) {
+                Double threshold = criterion.hasThreshold() ? thresholdOverrides.get(criterion.conceptAlias()) : null;
+                criteria.add(threshold != null ? criterion.withThreshold(threshold) : criterion);
+            }
+            branches.add(new CompiledBranch(branch.branchId(), branch.logic(), List.copyOf(criteria),
+                    branch.captureSlotCount(), branch.sequential()));
+        }
+        return new CompiledTier(tier.tierId(), tier.ruleId(), tier.ruleVersion(), tier.tierType(), true,
+                tier.minimumBranchesRequired(), List.copyOf(branches));
+    }
+
+    private Set<String> parseSuppressionStates(HccSuppressionConfig config) {
+        String json = config.getSuppressionStates();
+        if (json == null || json.isBlank()) {
+            return HccSuppressionConfig.DEFAULT_SUPPRESSION_STATES;
+        }
+        try {
+            JsonNode node = objectMapper.readTree(json);
+            if (node == null || !node.isArray()) {
+                log.warn("Suppression config {} suppressionStates is not a JSON array; using defaults", config.getId());
+                return HccSuppressionConfig.DEFAULT_SUPPRESSION_STATES;
+            }
+            Set<String> states = new HashSet<>();
+            node.forEach(state -> states.add(state.asText()));
+            return Set.copyOf(states);
+        } catch (Exception e) {
+            log.warn("Suppression config {} suppressionStates could not be parsed; using defaults: {}",
+                    config.getId(), e.getMessage());
+            return HccSuppressionConfig.DEFAULT_SUPPRESSION_STATES;
+        }
+    }
+
+    private Set<String> parseDisabledBranchIds(HccClientConfig clientConfig) {
+        String json = clientConfig.getDisabledBranchIds();
+        if (json == null || json.isBlank()) {
+            return Set.of();
+        }
+        try {
+            JsonNode node = objectMapper.readTree(json);
+            if (node == null || !node.isArray()) {
+                log.warn("Client {} disabledBranchIds for rule is not a JSON array; ignored", clientConfig.getClientId());
+                return Set.of();
+            }
+            Set<String> branchIds = new HashSet<>();
+            node.forEach(branchId -> branchIds.add(branchId.asText()));
+            return branchIds;
+        } catch (Exception e) {
+            log.warn("Client {} disabledBranchIds could not be parsed; ignored: {}", clientConfig.getClientId(), e.getMessage());
+            return Set.of();
+        }
+    }
+
+    private Map<String, Double> parseThresholdOverrides(HccClientConfig clientConfig) {
+        String json = clientConfig.getThresholdOverridesJson();
+        if (json == null || json.isBlank()) {
+            return Map.of();
+        }
+        try {
+            JsonNode node = objectMapper.readTree(json);
+            if (node == null || !node.isObject()) {
+                log.warn("Client {} thresholdOverridesJson is not a JSON object; ignored", clientConfig.getClientId());
+                return Map.of();
+            }
+            Map<String, Double> overrides = new HashMap<>();
+            node.fields().forEachRemaining(entry -> {
+                if (entry.getValue().isNumber()) {
+                    overrides.put(entry.getKey(), entry.getValue().asDouble());
+                } else {
+                    log.warn("Client {} threshold override for {} is not a number; ignored",
+                            clientConfig.getClientId(), entry.getKey());
+                }
+            });
+            return overrides;
+        } catch (Exception e) {
+            log.warn("Client {} thresholdOverridesJson could not be parsed; ignored: {}", clientConfig.getClientId(), e.getMessage());
+            return Map.of();
+        }
+    }
+
+    private CompiledTier findTier(HccSuspectRule rule, TierType tierType) {
+        return rule.getTiers().stream()
+                .filter(t -> t.getTierType() == tierType)
+                .findFirst()
+                .map(t -> compileTier(t, rule.getVersion()))
+                .orElse(null);
+    }
+
+    /**
+     * Get the compiled plan for a tier, compiling it if absent or stale.
+     */
+    public CompiledTier compileTier(StratificationTier tier, Integer ruleVersion) {
+        if (tier.getId() == null) {
+            return compile(tier, ruleVersion);
+        }
+        CachedTier cached = tierCache.get(tier.getId());
+        if (cached != null && Objects.equals(cached.tier().ruleVersion(), ruleVersion)
+                && Objects.equals(cached.tierVersion(), tier.getVersion())) {
+            return cached.tier();
+        }
+        CompiledTier compiled = compile(tier, ruleVersion);
+        tierCache.put(tier.getId(), new CachedTier(tier.getVersion(), compiled));
+        return compiled;
+    }
+
+    /**
+     * Drop all compiled tiers belonging to a rule.
+     */
+    public void evictRule(Long ruleId) {
+        tierCache.values().removeIf(t -> Objects.equals(t.tier().ruleId(), ruleId));
+    }
+
+    private CompiledTier compile(StratificationTier tier, Integer ruleVersion) {
+        Long ruleId = tier.getRule() != null ? tier.getRule().getId() : null;
+
+        if (tier.getCriteriaJson() == null || tier.getCriteriaJson().isEmpty()
+                || tier.getMinimumBranchesRequired() == null) {
+            return CompiledTier.notEvaluable(tier.getId(), ruleId, ruleVersion, tier.getTierType());
+        }
+
+        JsonNode branchesNode;
+        try {
+            branchesNode = objectMapper.readTree(tier.getCriteriaJson());
+        } catch (Exception e) {
+            log.error("Error compiling tier {} criteria: {}", tier.getId(), e.getMessage(), e);
+            return CompiledTier.notEvaluable(tier.getId(), ruleId, ruleVersion, tier.getTierType());
+        }
+
+        if (branchesNode == null || !branchesNode.isArray()) {
+            log.error("Tier {} criteria is not a JSON array", tier.getId());
+            return CompiledTier.notEvaluable(tier.getId(), ruleId, ruleVersion, tier.getTierType());
+        }
+
+        List<CompiledBranch> branches = new ArrayList<>();
+        int index = 0;
+        for (JsonNode branch : branchesNode) {
+            index++;
+            JsonNode criteria = branch.get("criteria");
+            if (criteria == null || !criteria.isArray()) {
+                continue;
+            }
+            String branchId = branch.has("branchId")
+                    ? branch.get("branchId").asText()
+                    : "tier-" + tier.getId() + "-branch-" + index;
+            BranchLogic logic = "AND".equals(text(branch, "logic", "AND")) ? BranchLogic.AND : BranchLogic.OR;
+            branches.add(compileBranch(branchId, logic, criteria));
+        }
+
+        return new CompiledTier(tier.getId(), ruleId, ruleVersion, tier.getTierType(), true,
+                tier.getMinimumBranchesRequired(), List.copyOf(branches));
+    }
+
+    private CompiledBranch compileBranch(String branchId, BranchLogic logic, JsonNode criteria) {
+        // Assign capture slots up front so temporal constraints can reference later captures too
+        Map<String, Integer> slots = new LinkedHashMap<>();
+        for (JsonNode criterion : criteria) {
+            if (criterion.has("captureAs")) {
+                slots.putIfAbsent(criterion.get("captureAs").asText(), slots.size());
+            }
+        }
+
+        List<TemporalConstraint> constraints = new ArrayList<>();
+        for (JsonNode criterion : criteria) {
+            constraints.add(compileTemporalConstraint(criterion.get("temporalConstraint"), slots));
+        }
+
+        List<CompiledCriterion> compiled = new ArrayList<>();
+        int index = 0;
+        for (JsonNode criterion : criteria) {
+            compiled.add(compileCriterion(criterion, slots, constraints.get(index++), constraints));
+        }
+        return new CompiledBranch(branchId, logic, List.copyOf(compiled), slots.size(), isSequential(compiled));
+    }
+
+    /**
+     * A branch is sequential when each slot a temporal constraint reads is only written by earlier criteria.
+     */
+    private static boolean isSequential(List<CompiledCriterion> criteria) {
+        for (int i = 0; i < criteria.size(); i++) {
+            TemporalConstraint constraint = criteria.get(i).temporalConstraint();
+            if (constraint == null) {
+                continue;
+            }
+            for (int j = i; j < criteria.size(); j++) {
+                if (constraint.references(criteria.get(j).captureSlot())) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private CompiledCriterion compileCriterion(
+            JsonNode criterion,
+            Map<String, Integer> slots,
+            TemporalConstraint temporalConstraint,
+            List<TemporalConstraint> branchConstraints) {
+        String type = text(criterion, "type", "");
+        EvidenceType evidenceType = parseEnum(EvidenceType.class, type);
+        if (evidenceType == null) {
+            log.warn("Unknown criterion type: {}", type);
+        }
+
+        ResultSelector selector = parseEnum(ResultSelector.class, text(criterion, "resultSelector", "ANY"));
+        if (selector == null) {
+            // Unknown selectors evaluate every result without capturing one, same as ALL
+            selector = ResultSelector.ALL;
+        }
+
+        String combinationType = text(criterion, "combinationType", null);
+        CombinationType parsedCombination = combinationType != null
+                ? parseEnum(CombinationType.class, combinationType)
+                : null;
+        if (combinationType != null && parsedCombination == null) {
+            log.warn("Unknown combination type: {}", combinationType);
+        }
+
+        String captureAs = text(criterion, "captureAs", null);
+        int captureSlot = captureAs != null ? slots.get(captureAs) : -1;
+        boolean captureReferenced = branchConstraints.stream()
+                .anyMatch(c -> c != null && c.references(captureSlot));
+
+        return new CompiledCriterion(
+                evidenceType,
+                text(criterion, "conceptAlias", ""),
+                parseEnum(QualifierType.class, text(criterion, "qualifier", "")),
+                selector,
+                criterion.has("threshold"),
+                criterion.has("threshold") ? criterion.get("threshold").asDouble() : 0,
+                criterion.has("rangeMin") ? criterion.get("rangeMin").asDouble() : Double.MIN_VALUE,
+                criterion.has("rangeMax") ? criterion.get("rangeMax").asDouble() : Double.MAX_VALUE,
+                !criterion.has("rangeMinInclusive") || criterion.get("rangeMinInclusive").asBoolean(),
+                criterion.has("rangeMaxInclusive") && criterion.get("rangeMaxInclusive").asBoolean(),
+                parsedCombination,
+                criterion.has("negate") && criterion.get("negate").asBoolean(),
+                captureAs,
+                captureSlot,
+                captureReferenced,
+                temporalConstraint);
+    }
+
+    private TemporalConstraint compileTemporalConstraint(JsonNode constraint, Map<String, Integer> slots) {
+        if (constraint == null) {
+            return null;
+        }
+        if (constraint.has("relativeTo")) {
+            TemporalOperator operator = parseEnum(TemporalOperator.class, text(constraint, "operator", "BEFORE"));
+            int minDays = constraint.has("minDays") ? constraint.get("minDays").asInt() : 0;
+            return TemporalConstraint.relative(slot(slots, constraint.get("relativeTo").asText()), operator, minDays);
+        }
+        if (constraint.has("after") && constraint.has("before")) {
+            return TemporalConstraint.between(
+                    slot(slots, constraint.get("after").asText()),
+                    slot(slots, constraint.get("before").asText()));
+        }
+        return null;
+    }
+
+    private static int slot(Map<String, Integer> slots, String name) {
+        return slots.getOrDefault(name, -1);
+    }
+
+    private static String text(JsonNode node, String field, String defaultValue) {
+        return node.has(field) ? node.get(field).asText() : defaultValue;
+    }
+
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, String value) {
+        try {
+            return Enum.valueOf(type, value);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private record CachedTier(Integer tierVersion, CompiledTier tier) {
+    }
+}
@@ -0,0 +1,71 @@
+package com.algoaccel.hcc.engine;
+
+import com.algoaccel.hcc.model.enums.EvidenceType;
+
+import java.util.*;
+
+/**
+ * Reverse index from concept alias to the compiled rules that read it.
+ * Diagnosis keys also include each rule's suppression target HCCs, since a new diagnosis
+ * can suppress a suspect as well as satisfy a criterion.
+ */
+public final class RuleIndex {
+
+    public static final RuleIndex EMPTY = of(List.of());
+
+    private final Map<Long, CompiledRule> rulesById;
+    private final Map<EvidenceType, Map<String, Set<Long>>> rulesByAlias;
+
+    private RuleIndex(Map<Long, CompiledRule> rulesById, Map<EvidenceType, Map<String, Set<Long>>> rulesByAlias) {
+        this.rulesById = rulesById;
+        this.rulesByAlias = rulesByAlias;
+    }
+
+    public static RuleIndex of(Collection<CompiledRule> rules) {
+        Map<Long, CompiledRule> rulesById = new HashMap<>();
+        Map<EvidenceType, Map<String, Set<Long>>> rulesByAlias = new EnumMap<>(EvidenceType.class);
+        for (EvidenceType type : EvidenceType.values()) {
+            rulesByAlias.put(type, new HashMap<>());
+        }
+
+        for (CompiledRule rule : rules) {
+            rulesById.put(rule.ruleId(), rule);
+            EvidenceFootprint footprint = rule.footprint();
+            index(rulesByAlias.get(EvidenceType.LAB), footprint.labConceptAliases(), rule.ruleId());
+            index(rulesByAlias.get(EvidenceType.MEDICATION), footprint.medicationConceptAliases(), rule.ruleId());
+            index(rulesByAlias.get(EvidenceType.DIAGNOSIS), footprint.diagnosisConceptAliases(), rule.ruleId());
+            for (CompiledSuppression suppression : rule.suppressionByModel().values()) {
+                if (suppression.targetHcc() != null) {
+                    index(rulesByAlias.get(EvidenceType.DIAGNOSIS), List.of(suppression.targetHcc()), rule.ruleId());
+                }
+            }
+        }
+        return new RuleIndex(Collections.unmodifiableMap(rulesById), rulesByAlias);
+    }
+
+    private static void index(Map<String, Set<Long>> byAlias, Collection<String> aliases, Long ruleId) {
+        for (String alias : aliases) {
+            byAlias.computeIfAbsent(alias, k -> new HashSet<>()).add(ruleId);
+        }
+    }
+
+    /**
+     * Ids of rules that read any of the given concept aliases for an evidence type.
+     */
+    public Set<Long> affectedRules(EvidenceType evidenceType, Collection<String> conceptAliases) {
+        Map<String, Set<Long>> byAlias = rulesByAlias.get(evidenceType);
+        Set<Long> ruleIds = new HashSet<>();
+        for (String alias : conceptAliases) {
+            ruleIds.addAll(byAlias.getOrDefault(alias, Set.of()));
+        }
+        return ruleIds;
+    }
+
+    public CompiledRule rule(Long ruleId) {
+        return rulesById.get(ruleId);
+    }
+
+    public Collection<CompiledRule> rules() {
+        return rulesById.values();
+    }
+}
@@ -0,0 +1,91 @@
+package com.algoaccel.hcc.engine;
+
+import com.algoaccel.hcc.dto.HccSuppressionStatusDto;
+import com.algoaccel.hcc.model.enums.HccModelType;
+import com.algoaccel.hcc.port.PatientDataPort;
+
+import java.util.*;
+
+/**
+ * Suppression statuses of every patient for the target HCCs of a rule set, loaded once per run with
+ * one getSuppressionStatuses query per target HCC. Answers "which status does (patient, targetHcc,
+ * model) have" from memory; whether that status suppresses is up to the rule's CompiledSuppression.
+ * Immutable once loaded and safe to share across worker threads.
+ */
+public final class SuppressionIndex {
+
+    public static final SuppressionIndex EMPTY = new SuppressionIndex(Map.of(), 0);
+
+    /**
+     * targetHcc -> model -> patientId -> suppression status.
+     */
+    private final Map<String, Map<HccModelType, Map<String, String>>> statuses;
+    private final int size;
+
+    private SuppressionIndex(Map<String, Map<HccModelType, Map<String, String>>> statuses, int size) {
+        this.statuses = statuses;
+        this.size = size;
+    }
+
+    /**
+     * Load the statuses for every target HCC the rules suppress on.
+     */
+    public static SuppressionIndex load(PatientDataPort patientDataPort, Collection<CompiledRule> rules) {
+        Set<String> targetHccs = new TreeSet<>();
+        for (CompiledRule rule : rules) {
+            for (CompiledSuppression suppression : rule.suppressionByModel().values()) {
+                targetHccs.add(suppression.targetHcc());
+            }
+        }
+        if (targetHccs.isEmpty()) {
+            return EMPTY;
+        }
+
+        // Only a handful of distinct statuses exist; share one instance of each across patients
+        Map<String, String> canonicalStatuses = new HashMap<>();
+        Map<String, Map<HccModelType, Map<String, String>>> statuses = new HashMap<>();
+        int size = 0;
+        for (String targetHcc : targetHccs) {
+            Map<HccModelType, Map<String, String>> byModel = new EnumMap<>(HccModelType.class);
+            for (HccSuppressionStatusDto row : patientDataPort.getSuppressionStatuses(targetHcc)) {
+                if (row.getStatus() == null) {
+                    continue;
+                }
+                String status = canonicalStatuses.computeIfAbsent(row.getStatus(), s -> s);
+                // The first diagnosis wins, as with a per-patient getSuppressionStatus lookup
+                if (byModel.computeIfAbsent(HccModelType.valueOf(row.getModelType()), m -> new HashMap<>())
+                        .putIfAbsent(row.getPatientId(), status) == null) {
+                    size++;
+                }
+            }
+            statuses.put(targetHcc, byModel);
+        }
+        return new SuppressionIndex(statuses, size);
+    }
+
+    /**
+     * Whether statuses for this target HCC were loaded; if not, callers fall back to a port lookup.
+     */
+    public boolean covers(String targetHcc) {
+        return statuses.containsKey(targetHcc);
+    }
+
+    /**
+     * The patient's suppression status for a target HCC and model, or empty when there is none.
+     */
+    public Optional<String> status(String patientId, String targetHcc, HccModelType modelType) {
+        Map<HccModelType, Map<String, String>> byModel = statuses.get(targetHcc);
+        if (byModel == null) {
+            return Optional.empty();
+        }
+        Map<String, String> byPatient = byModel.get(modelType);
+        return byPatient != null ? Optional.ofNullable(byPatient.get(patientId)) : Optional.empty();
+    }
+
+    /**
+     * Number of (patient, targetHcc, model) statuses held.
+     */
+    public int size() {
+        return size;
+    }
+}
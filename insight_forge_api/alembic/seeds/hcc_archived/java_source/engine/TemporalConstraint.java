@@ -0,0 +1,39 @@
+package com.algoaccel.hcc.engine;
+
+import com.algoaccel.hcc.model.enums.TemporalOperator;
+
+/**
+ * Compiled temporal constraint of a criterion.
+ * Captured result references are resolved to slot indices within the owning branch;
+ * a slot of -1 means the referenced name is never captured in that branch.
+ */
+public record TemporalConstraint(
+        Kind kind,
+        int relativeToSlot,
+        TemporalOperator operator,
+        int minDays,
+        int afterSlot,
+        int beforeSlot) {
+
+    public enum Kind {
+        /** "relativeTo" + operator + minDays, e.g. "≥ 90 days before mostRecentQualifying". */
+        RELATIVE,
+        /** "after" + "before", strictly between two captured results. */
+        BETWEEN
+    }
+
+    public static TemporalConstraint relative(int relativeToSlot, TemporalOperator operator, int minDays) {
+        return new TemporalConstraint(Kind.RELATIVE, relativeToSlot, operator, minDays, -1, -1);
+    }
+
+    public static TemporalConstraint between(int afterSlot, int beforeSlot) {
+        return new TemporalConstraint(Kind.BETWEEN, -1, null, 0, afterSlot, beforeSlot);
+    }
+
+    /**
+     * True when this constraint reads the given capture slot.
+     */
+    public boolean references(int slot) {
+        return slot >= 0 && (relativeToSlot == slot || afterSlot == slot || beforeSlot == slot);
+    }
+}
@@ -0,0 +1,39 @@
+package com.algoaccel.hcc.event;
+
+import com.algoaccel.hcc.model.HccDiagnosis;
+import com.algoaccel.hcc.model.HccLabResult;
+import com.algoaccel.hcc.model.HccMedicationOrder;
+import com.algoaccel.hcc.model.enums.EvidenceType;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A patient's lab result, medication order or diagnosis was added or changed.
+ * Published through the ApplicationEventPublisher to drive incremental re-evaluation.
+ * Diagnoses are keyed by both their HCC category and ICD code.
+ */
+public record EvidenceChangedEvent(
+        String patientId,
+        EvidenceType evidenceType,
+        List<String> conceptAliases) {
+
+    public static EvidenceChangedEvent of(HccLabResult lab) {
+        return new EvidenceChangedEvent(lab.getPatientId(), EvidenceType.LAB, List.of(lab.getConceptAlias()));
+    }
+
+    public static EvidenceChangedEvent of(HccMedicationOrder med) {
+        return new EvidenceChangedEvent(med.getPatientId(), EvidenceType.MEDICATION, List.of(med.getConceptAlias()));
+    }
+
+    public static EvidenceChangedEvent of(HccDiagnosis diagnosis) {
+        List<String> keys = new ArrayList<>(2);
+        if (diagnosis.getHccCategory() != null) {
+            keys.add(diagnosis.getHccCategory());
+        }
+        if (diagnosis.getIcdCode() != null) {
+            keys.add(diagnosis.getIcdCode());
+        }
+        return new EvidenceChangedEvent(diagnosis.getPatientId(), EvidenceType.DIAGNOSIS, List.copyOf(keys));
+    }
+}
@@ -0,0 +1,19 @@
+package com.algoaccel.hcc.event;
+
+import com.algoaccel.hcc.model.HccRuleRejectionState;
+import com.algoaccel.hcc.model.enums.HccModelType;
+
+/**
+ * A clinician rejection for a patient, rule and model was recorded or changed.
+ * state is the rejection as written, or null when listeners have to read it back.
+ */
+public record RejectionStateChangedEvent(
+        String patientId,
+        Long ruleId,
+        HccModelType modelType,
+        HccRuleRejectionState state) {
+
+    public static RejectionStateChangedEvent of(HccRuleRejectionState state) {
+        return new RejectionStateChangedEvent(state.getPatientId(), state.getRuleId(), state.getModelType(), state);
+    }
+}
@@ -0,0 +1,7 @@
+package com.algoaccel.hcc.event;
+
+/**
+ * A rule was created, updated or deleted. Caches of compiled rules listen for it.
+ */
+public record RuleChangedEvent(Long ruleId) {
+}
@@ -27,6 +27,10 @@ public class HccClientConfig {
     @JoinColumn(name = "rule_id", nullable = false)
     private HccSuspectRule rule;
 
+    @Version
+    @Builder.Default
+    private Integer version = 1;
+
     @Column(name = "client_id", nullable = false, length = 100)
     private String clientId;
 
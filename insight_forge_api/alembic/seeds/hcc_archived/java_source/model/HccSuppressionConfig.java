@@ -4,6 +4,8 @@ import com.algoaccel.hcc.model.enums.HccModelType;
 import jakarta.persistence.*;
 import lombok.*;
 
+import java.util.Set;
+
 /**
  * Suppression configuration for a specific HCC model type (CMS/HHS/ESRD).
  * Defines when to suppress suspect output based on existing validated conditions.
@@ -19,6 +21,14 @@ import lombok.*;
 @AllArgsConstructor
 public class HccSuppressionConfig {
 
+    /**
+     * Validated states that suppress when suppressionStates is not set.
+     */
+    public static final Set<String> DEFAULT_SUPPRESSION_STATES = Set.of(
+            "Fully Validated",
+            "Needs Administrative Attention",
+            "Needs Clinical and Administrative Attention");
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -27,6 +37,10 @@ public class HccSuppressionConfig {
     @JoinColumn(name = "rule_id", nullable = false)
     private HccSuspectRule rule;
 
+    @Version
+    @Builder.Default
+    private Integer version = 1;
+
     @Enumerated(EnumType.STRING)
     @Column(name = "model_type", nullable = false, length = 10)
     private HccModelType modelType;
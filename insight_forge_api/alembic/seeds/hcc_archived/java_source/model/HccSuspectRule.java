@@ -6,8 +6,8 @@ import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.LinkedHashSet;
+import java.util.Set;
 
 /**
  * HCC Suspecting Rule entity.
@@ -66,17 +66,24 @@ public class HccSuspectRule extends AuditableEntity {
     @Builder.Default
     private Integer version = 1;
 
+    /**
+     * Child collections are ordered sets rather than lists so more than one can be fetch-joined
+     * in a single query without duplicate rows or a MultipleBagFetchException.
+     */
     @OneToMany(mappedBy = "rule", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
+    @OrderBy("id")
     @Builder.Default
-    private List<StratificationTier> tiers = new ArrayList<>();
+    private Set<StratificationTier> tiers = new LinkedHashSet<>();
 
     @OneToMany(mappedBy = "rule", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
+    @OrderBy("id")
     @Builder.Default
-    private List<HccSuppressionConfig> suppressionConfigs = new ArrayList<>();
+    private Set<HccSuppressionConfig> suppressionConfigs = new LinkedHashSet<>();
 
     @OneToMany(mappedBy = "rule", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
+    @OrderBy("id")
     @Builder.Default
-    private List<HccClientConfig> clientConfigs = new ArrayList<>();
+    private Set<HccClientConfig> clientConfigs = new LinkedHashSet<>();
 
     public void addTier(StratificationTier tier) {
         tiers.add(tier);
@@ -27,6 +27,10 @@ public class StratificationTier {
     @JoinColumn(name = "rule_id", nullable = false)
     private HccSuspectRule rule;
 
+    @Version
+    @Builder.Default
+    private Integer version = 1;
+
     @Enumerated(EnumType.STRING)
     @Column(name = "tier_type", nullable = false, length = 30)
     private TierType tierType;
@@ -0,0 +1,9 @@
+package com.algoaccel.hcc.model.enums;
+
+/**
+ * How criterion results within an evidence branch are combined.
+ */
+public enum BranchLogic {
+    AND,
+    OR
+}
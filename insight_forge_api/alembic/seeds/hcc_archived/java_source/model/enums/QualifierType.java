@@ -7,8 +7,11 @@ public enum QualifierType {
     POSITIVE,
     NEGATIVE,
     GREATER_THAN,
+    GREATER_THAN_OR_EQUAL,
     LESS_THAN,
+    LESS_THAN_OR_EQUAL,
     EQUALS,
+    RANGE,
     PRESENT,
     ABSENT
 }
@@ -0,0 +1,12 @@
+package com.algoaccel.hcc.model.enums;
+
+/**
+ * Selects which lab results a criterion evaluates.
+ * MOST_RECENT and FIRST evaluate a single result; ANY and ALL evaluate every result.
+ */
+public enum ResultSelector {
+    ANY,
+    MOST_RECENT,
+    FIRST,
+    ALL
+}
@@ -0,0 +1,10 @@
+package com.algoaccel.hcc.model.enums;
+
+/**
+ * Operator for a "relativeTo" temporal constraint between a criterion and a captured result.
+ */
+public enum TemporalOperator {
+    BEFORE,
+    AFTER,
+    SAME_DAY
+}
@@ -21,6 +21,11 @@ public interface PatientDataPort {
      */
     List<LabResultDto> getLabResults(String patientId, String conceptAlias, LocalDate windowStart, LocalDate windowEnd);
 
+    /**
+     * Get lab results for a patient matching any of the given concept aliases within a date window.
+     */
+    List<LabResultDto> getLabResults(String patientId, List<String> conceptAliases, LocalDate windowStart, LocalDate windowEnd);
+
     /**
      * Get medication orders for a patient matching any of the given concept aliases.
      */
@@ -36,13 +41,45 @@ public interface PatientDataPort {
      */
     Optional<HccSuppressionStatusDto> getSuppressionStatus(String patientId, String targetHcc, String modelType);
 
+    /**
+     * Get the suppression status of every patient with a diagnosis in the target HCC, for all model types.
+     * One set-based query that replaces per-patient getSuppressionStatus calls in population runs.
+     */
+    List<HccSuppressionStatusDto> getSuppressionStatuses(String targetHcc);
+
     /**
      * Get rejection state for resurfacing logic.
      */
     Optional<HccRuleRejectionState> getRejectionState(String patientId, Long ruleId, String modelType);
 
     /**
-     * Get all patient IDs in the dataset (for batch evaluation).
+     * Get every patient's rejection state for a rule, for all model types.
+     */
+    List<HccRuleRejectionState> getRejectionStates(Long ruleId);
+
+    /**
+     * Get lab results for a chunk of patients matching any of the given concept aliases within a date window.
+     */
+    List<LabResultDto> getLabResultsForPatients(List<String> patientIds, List<String> conceptAliases, LocalDate windowStart, LocalDate windowEnd);
+
+    /**
+     * Get medication orders for a chunk of patients matching any of the given concept aliases.
+     */
+    List<MedicationOrderDto> getMedicationOrdersForPatients(List<String> patientIds, List<String> conceptAliases, LocalDate windowStart, LocalDate windowEnd);
+
+    /**
+     * Get diagnoses for a chunk of patients filtered by model type.
+     */
+    List<DiagnosisDto> getDiagnosesForPatients(List<String> patientIds, String modelType);
+
+    /**
+     * Stream the patient ids in a range in ascending order (for batch evaluation).
+     * Ids are read a page at a time, so memory does not grow with the population; close the cursor when done.
+     */
+    PatientIdCursor streamPatientIds(PatientIdRange range);
+
+    /**
+     * Count the patients in a range.
      */
-    List<String> getAllPatientIds();
+    long countPatientIds(PatientIdRange range);
 }
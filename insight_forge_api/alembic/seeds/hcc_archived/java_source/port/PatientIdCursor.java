@@ -0,0 +1,34 @@
+package com.algoaccel.hcc.port;
+
+import java.util.Iterator;
+
+/**
+ * Forward-only iterator over patient ids in ascending order.
+ * Implementations read ids a bounded page at a time; close it when done.
+ */
+public interface PatientIdCursor extends Iterator<String>, AutoCloseable {
+
+    @Override
+    void close();
+
+    /**
+     * A cursor over ids that are already in memory, in ascending order.
+     */
+    static PatientIdCursor of(Iterator<String> patientIds) {
+        return new PatientIdCursor() {
+            @Override
+            public boolean hasNext() {
+                return patientIds.hasNext();
+            }
+
+            @Override
+            public String next() {
+                return patientIds.next();
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+    }
+}
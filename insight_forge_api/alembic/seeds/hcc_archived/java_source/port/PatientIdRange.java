@@ -0,0 +1,22 @@
+package com.algoaccel.hcc.port;
+
+/**
+ * Patient ids in [fromInclusive, toExclusive) by id order; a null bound is open.
+ * Disjoint ranges let a population be split into partitions.
+ */
+public record PatientIdRange(String fromInclusive, String toExclusive) {
+
+    public static final PatientIdRange ALL = new PatientIdRange(null, null);
+
+    public PatientIdRange {
+        if (fromInclusive != null && toExclusive != null && fromInclusive.compareTo(toExclusive) > 0) {
+            throw new IllegalArgumentException(
+                    "Patient id range starts after it ends: [" + fromInclusive + ", " + toExclusive + ")");
+        }
+    }
+
+    public boolean contains(String patientId) {
+        return (fromInclusive == null || patientId.compareTo(fromInclusive) >= 0)
+                && (toExclusive == null || patientId.compareTo(toExclusive) < 0);
+    }
+}
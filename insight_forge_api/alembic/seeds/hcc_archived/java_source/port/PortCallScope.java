@@ -0,0 +1,131 @@
+package com.algoaccel.hcc.port;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Attributes PatientDataPort calls on the current thread to the evaluation in progress.
+ *
+ * Opened around an evaluation with try-with-resources; a scope opened while another is active on
+ * the same thread joins it, so nested evaluate calls are counted once against the outermost scope.
+ * Not thread-safe: a scope is only touched by the thread that opened it.
+ */
+public final class PortCallScope implements AutoCloseable {
+
+    /**
+     * PatientDataPort operations, used as the "method" metric tag.
+     */
+    public enum Call {
+        getLabResults,
+        getMedicationOrders,
+        getDiagnoses,
+        getSuppressionStatus,
+        getSuppressionStatuses,
+        getRejectionState,
+        getRejectionStates,
+        getLabResultsForPatients,
+        getMedicationOrdersForPatients,
+        getDiagnosesForPatients,
+        streamPatientIds,
+        countPatientIds
+    }
+
+    private static final ThreadLocal<PortCallScope> CURRENT = new ThreadLocal<>();
+
+    private final String patientId;
+    private final Long ruleId;
+    private final Map<Call, Integer> calls = new EnumMap<>(Call.class);
+    private int depth = 1;
+    private int totalCalls;
+    private long rows;
+    private long nanos;
+    private boolean budgetWarned;
+
+    private PortCallScope(String patientId, Long ruleId) {
+        this.patientId = patientId;
+        this.ruleId = ruleId;
+    }
+
+    /**
+     * Open a scope on this thread, or join the one already open.
+     */
+    public static PortCallScope open(String patientId, Long ruleId) {
+        PortCallScope current = CURRENT.get();
+        if (current != null) {
+            current.depth++;
+            return current;
+        }
+        PortCallScope scope = new PortCallScope(patientId, ruleId);
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    /**
+     * The scope open on this thread, or null outside an evaluation.
+     */
+    public static PortCallScope current() {
+        return CURRENT.get();
+    }
+
+    public void record(Call call, long rowCount, long elapsedNanos) {
+        calls.merge(call, 1, Integer::sum);
+        totalCalls++;
+        rows += rowCount;
+        nanos += elapsedNanos;
+    }
+
+    public String patientId() {
+        return patientId;
+    }
+
+    public Long ruleId() {
+        return ruleId;
+    }
+
+    public int totalCalls() {
+        return totalCalls;
+    }
+
+    public int calls(Call call) {
+        return calls.getOrDefault(call, 0);
+    }
+
+    public long rows() {
+        return rows;
+    }
+
+    public long nanos() {
+        return nanos;
+    }
+
+    /**
+     * True for the outermost holder, i.e. when closing will end the scope.
+     */
+    public boolean outermost() {
+        return depth == 1;
+    }
+
+    /**
+     * Marks the budget warning as logged; returns false if it already was.
+     */
+    public boolean markBudgetWarned() {
+        if (budgetWarned) {
+            return false;
+        }
+        budgetWarned = true;
+        return true;
+    }
+
+    @Override
+    public void close() {
+        if (--depth == 0) {
+            CURRENT.remove();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "patient " + patientId + ", rule " + ruleId + ": " + totalCalls + " port calls " + calls + ", " + rows + " rows, "
+                + nanos / 1_000_000 + " ms";
+    }
+}
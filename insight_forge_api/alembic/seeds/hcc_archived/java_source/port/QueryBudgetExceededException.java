@@ -0,0 +1,11 @@
+package com.algoaccel.hcc.port;
+
+/**
+ * Thrown when an evaluation exceeds the PatientDataPort query budget and the budget mode is FAIL.
+ */
+public class QueryBudgetExceededException extends IllegalStateException {
+
+    public QueryBudgetExceededException(String message) {
+        super(message);
+    }
+}
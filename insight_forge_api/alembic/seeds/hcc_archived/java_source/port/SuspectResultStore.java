@@ -0,0 +1,33 @@
+package com.algoaccel.hcc.port;
+
+import com.algoaccel.hcc.dto.SuspectEvaluationResult;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Port interface for storing the latest suspect evaluation result per patient and rule.
+ * Only results with at least one suspected model are kept; anything else clears the entry.
+ */
+public interface SuspectResultStore {
+
+    /**
+     * Store the result if any model is suspected, otherwise remove the patient/rule entry.
+     */
+    void save(SuspectEvaluationResult result);
+
+    /**
+     * Get the stored result for a patient and rule.
+     */
+    Optional<SuspectEvaluationResult> find(String patientId, Long ruleId);
+
+    /**
+     * Get all stored results for a patient.
+     */
+    List<SuspectEvaluationResult> findByPatient(String patientId);
+
+    /**
+     * Number of stored suspects.
+     */
+    long count();
+}
@@ -3,6 +3,8 @@ package com.algoaccel.hcc.repository;
 import com.algoaccel.hcc.model.HccDiagnosis;
 import com.algoaccel.hcc.model.enums.HccModelType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -13,6 +15,15 @@ public interface HccDiagnosisRepository extends JpaRepository<HccDiagnosis, Long
 
     List<HccDiagnosis> findByPatientIdAndModelType(String patientId, HccModelType modelType);
 
+    List<HccDiagnosis> findByPatientIdInAndModelType(List<String> patientIds, HccModelType modelType);
+
     Optional<HccDiagnosis> findByPatientIdAndHccCategoryAndModelType(
             String patientId, String hccCategory, HccModelType modelType);
+
+    /**
+     * (patientId, modelType, suppressionStatus) of every diagnosis in an HCC category.
+     */
+    @Query("select d.patientId, d.modelType, d.suppressionStatus from HccDiagnosis d "
+            + "where d.hccCategory = :hccCategory")
+    List<Object[]> findSuppressionStatusesByHccCategory(@Param("hccCategory") String hccCategory);
 }
@@ -12,4 +12,10 @@ public interface HccLabResultRepository extends JpaRepository<HccLabResult, Long
 
     List<HccLabResult> findByPatientIdAndConceptAliasAndResultDateBetween(
             String patientId, String conceptAlias, LocalDate startDate, LocalDate endDate);
+
+    List<HccLabResult> findByPatientIdAndConceptAliasInAndResultDateBetween(
+            String patientId, List<String> conceptAliases, LocalDate startDate, LocalDate endDate);
+
+    List<HccLabResult> findByPatientIdInAndConceptAliasInAndResultDateBetween(
+            List<String> patientIds, List<String> conceptAliases, LocalDate startDate, LocalDate endDate);
 }
@@ -12,4 +12,7 @@ public interface HccMedicationOrderRepository extends JpaRepository<HccMedicatio
 
     List<HccMedicationOrder> findByPatientIdAndConceptAliasInAndStartDateBetween(
             String patientId, List<String> conceptAliases, LocalDate startDate, LocalDate endDate);
+
+    List<HccMedicationOrder> findByPatientIdInAndConceptAliasInAndStartDateBetween(
+            List<String> patientIds, List<String> conceptAliases, LocalDate startDate, LocalDate endDate);
 }
@@ -3,13 +3,14 @@ package com.algoaccel.hcc.repository;
 import com.algoaccel.hcc.model.HccPatient;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.util.List;
-
 @Repository
 public interface HccPatientRepository extends JpaRepository<HccPatient, String> {
 
-    @Query("SELECT p.patientId FROM HccPatient p")
-    List<String> findAllPatientIds();
+    @Query("SELECT COUNT(p) FROM HccPatient p "
+            + "WHERE (:fromInclusive IS NULL OR p.patientId >= :fromInclusive) "
+            + "AND (:toExclusive IS NULL OR p.patientId < :toExclusive)")
+    long countInRange(@Param("fromInclusive") String fromInclusive, @Param("toExclusive") String toExclusive);
 }
@@ -3,8 +3,11 @@ package com.algoaccel.hcc.repository;
 import com.algoaccel.hcc.model.HccRuleRejectionState;
 import com.algoaccel.hcc.model.enums.HccModelType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -12,4 +15,11 @@ public interface HccRuleRejectionStateRepository extends JpaRepository<HccRuleRe
 
     Optional<HccRuleRejectionState> findByPatientIdAndRuleIdAndModelType(
             String patientId, Long ruleId, HccModelType modelType);
+
+    /**
+     * (patientId, modelType, lastTriggeringConceptAlias) of every rejection for a rule.
+     */
+    @Query("select r.patientId, r.modelType, r.lastTriggeringConceptAlias from HccRuleRejectionState r "
+            + "where r.ruleId = :ruleId")
+    List<Object[]> findConceptsByRuleId(@Param("ruleId") Long ruleId);
 }
@@ -1,11 +1,20 @@
 package com.algoaccel.hcc.repository;
 
+import com.algoaccel.hcc.dto.HccRuleSummaryDto;
+import com.algoaccel.hcc.dto.RuleListFingerprint;
+import com.algoaccel.hcc.dto.RuleSnapshotFingerprint;
 import com.algoaccel.hcc.model.HccSuspectRule;
 import com.algoaccel.hcc.model.enums.HccRuleStatus;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface HccSuspectRuleRepository extends JpaRepository<HccSuspectRule, Long> {
@@ -13,4 +22,77 @@ public interface HccSuspectRuleRepository extends JpaRepository<HccSuspectRule,
     List<HccSuspectRule> findByStatus(HccRuleStatus status);
 
     List<HccSuspectRule> findByHccCategory(String hccCategory);
+
+    /**
+     * Summary columns only, optionally filtered by status and HCC category; no entities are managed.
+     */
+    @Query(value = "SELECT new com.algoaccel.hcc.dto.HccRuleSummaryDto("
+            + "r.id, r.name, r.hccCategory, r.conditionName, r.status, r.modelYear, "
+            + "r.cmsEnabled, r.hhsEnabled, r.esrdEnabled) "
+            + "FROM HccSuspectRule r "
+            + "WHERE (:status IS NULL OR r.status = :status) "
+            + "AND (:hccCategory IS NULL OR r.hccCategory = :hccCategory)",
+            countQuery = "SELECT COUNT(r) FROM HccSuspectRule r "
+                    + "WHERE (:status IS NULL OR r.status = :status) "
+                    + "AND (:hccCategory IS NULL OR r.hccCategory = :hccCategory)")
+    Page<HccRuleSummaryDto> findSummaries(
+            @Param("status") HccRuleStatus status,
+            @Param("hccCategory") String hccCategory,
+            Pageable pageable);
+
+    @Query("SELECT new com.algoaccel.hcc.dto.RuleListFingerprint("
+            + "COUNT(r), MAX(r.version), SUM(r.version), SUM(r.id)) "
+            + "FROM HccSuspectRule r "
+            + "WHERE (:status IS NULL OR r.status = :status) "
+            + "AND (:hccCategory IS NULL OR r.hccCategory = :hccCategory)")
+    RuleListFingerprint findListFingerprint(
+            @Param("status") HccRuleStatus status,
+            @Param("hccCategory") String hccCategory);
+
+    /**
+     * A rule with tiers and suppression configs in one query.
+     * Follow with fetchClientConfigsById in the same transaction to complete the graph.
+     */
+    @EntityGraph(attributePaths = {"tiers", "suppressionConfigs"})
+    @Query("SELECT r FROM HccSuspectRule r WHERE r.id = :id")
+    Optional<HccSuspectRule> findWithTiersById(@Param("id") Long id);
+
+    /**
+     * Initializes clientConfigs of an already loaded rule (kept apart to avoid a three-way cartesian product).
+     */
+    @Query("SELECT DISTINCT r FROM HccSuspectRule r LEFT JOIN FETCH r.clientConfigs WHERE r.id = :id")
+    Optional<HccSuspectRule> fetchClientConfigsById(@Param("id") Long id);
+
+    /**
+     * All rules with a status, with tiers and suppression configs, in one query.
+     */
+    @EntityGraph(attributePaths = {"tiers", "suppressionConfigs"})
+    @Query("SELECT DISTINCT r FROM HccSuspectRule r WHERE r.status = :status ORDER BY r.id")
+    List<HccSuspectRule> findWithTiersByStatus(@Param("status") HccRuleStatus status);
+
+    /**
+     * Initializes clientConfigs of every rule with a status.
+     */
+    @Query("SELECT DISTINCT r FROM HccSuspectRule r LEFT JOIN FETCH r.clientConfigs WHERE r.status = :status")
+    List<HccSuspectRule> fetchClientConfigsByStatus(@Param("status") HccRuleStatus status);
+
+    /**
+     * Version fingerprint of every rule with the given status (any status when null), optionally just
+     * one rule, including its tiers, suppression configs and client configs; for cache validation.
+     */
+    @Query("SELECT new com.algoaccel.hcc.dto.RuleSnapshotFingerprint(r.id, r.version, "
+            + "(SELECT COUNT(t) FROM StratificationTier t WHERE t.rule = r), "
+            + "(SELECT COALESCE(SUM(t.id), 0) FROM StratificationTier t WHERE t.rule = r), "
+            + "(SELECT COUNT(s) FROM HccSuppressionConfig s WHERE s.rule = r), "
+            + "(SELECT COALESCE(SUM(s.id), 0) FROM HccSuppressionConfig s WHERE s.rule = r), "
+            + "(SELECT COUNT(c) FROM HccClientConfig c WHERE c.rule = r), "
+            + "(SELECT COALESCE(SUM(c.id), 0) FROM HccClientConfig c WHERE c.rule = r), "
+            + "(SELECT COALESCE(SUM(t.version), 0) FROM StratificationTier t WHERE t.rule = r) "
+            + "+ (SELECT COALESCE(SUM(s.version), 0) FROM HccSuppressionConfig s WHERE s.rule = r) "
+            + "+ (SELECT COALESCE(SUM(c.version), 0) FROM HccClientConfig c WHERE c.rule = r)) "
+            + "FROM HccSuspectRule r "
+            + "WHERE (:status IS NULL OR r.status = :status) AND (:id IS NULL OR r.id = :id)")
+    List<RuleSnapshotFingerprint> findSnapshotFingerprints(
+            @Param("status") HccRuleStatus status,
+            @Param("id") Long id);
 }
@@ -0,0 +1,44 @@
+package com.algoaccel.hcc.service;
+
+import com.algoaccel.hcc.config.HccAsyncProperties;
+import com.algoaccel.hcc.dto.SuspectEvaluationResult;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs single-rule evaluations on the bounded hccEvaluationExecutor so request threads are not held
+ * while PatientDataPort calls block.
+ *
+ * The returned future fails with RejectedExecutionException when the pool and its queue are full, and
+ * with TimeoutException when the evaluation does not finish in time. A timed-out evaluation is not
+ * interrupted (JDBC calls rarely honour interrupts); it finishes on its worker and the result is dropped.
+ */
+@Service
+@RequiredArgsConstructor
+public class AsyncEvaluationService {
+
+    private final SuspectEvaluationService evaluationService;
+    private final ThreadPoolTaskExecutor hccEvaluationExecutor;
+    private final HccAsyncProperties asyncProperties;
+
+    public CompletableFuture<SuspectEvaluationResult> evaluate(
+            String patientId, Long ruleId, String clientId, Duration timeout) {
+
+        Duration effectiveTimeout = timeout != null && timeout.compareTo(asyncProperties.getTimeout()) < 0
+                ? timeout
+                : asyncProperties.getTimeout();
+        try {
+            return CompletableFuture
+                    .supplyAsync(() -> evaluationService.evaluate(patientId, ruleId, clientId), hccEvaluationExecutor)
+                    .orTimeout(effectiveTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package com.algoaccel.hcc.service;
+
+import com.algoaccel.hcc.config.HccBatchProperties;
+import com.algoaccel.hcc.dto.BulkEvaluationFailure;
+import com.algoaccel.hcc.dto.BulkEvaluationRequest;
+import com.algoaccel.hcc.engine.CompiledRule;
+import com.algoaccel.hcc.engine.CompiledRuleSet;
+import com.algoaccel.hcc.engine.EvidenceLoader;
+import com.algoaccel.hcc.engine.PatientEvidence;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Evaluates a list of patients against a list of rules for one request.
+ *
+ * Rules are compiled once up front. Patients are split into chunks that load their evidence with
+ * set-based queries and run on a bulk worker pool of hcc.batch.bulk-parallelism threads, so bulk
+ * requests neither queue behind population runs nor hold their workers. Workers put every result (or
+ * BulkEvaluationFailure) on a bounded per-request queue; a single writer thread per request drains it
+ * into the sink, so slow clients only slow down their own request. At most
+ * hcc.batch.max-concurrent-bulk-requests requests run at once.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BulkEvaluationService {
+
+    private static final long POLL_MILLIS = 100;
+
+    private final SuspectEvaluationService evaluationService;
+    private final EvidenceLoader evidenceLoader;
+    private final HccBatchProperties batchProperties;
+
+    private ExecutorService workers;
+    private ExecutorService writers;
+    private Semaphore requests;
+
+    @PostConstruct
+    void startPools() {
+        int maxRequests = Math.max(1, batchProperties.getMaxConcurrentBulkRequests());
+        requests = new Semaphore(maxRequests);
+        workers = Executors.newFixedThreadPool(Math.max(1, batchProperties.getBulkParallelism()), daemon("hcc-bulk-"));
+        // One writer per admitted request, so a writer never waits for a thread
+        writers = Executors.newFixedThreadPool(maxRequests, daemon("hcc-bulk-writer-"));
+    }
+
+    @PreDestroy
+    void stopPools() {
+        workers.shutdownNow();
+        writers.shutdownNow();
+    }
+
+    /**
+     * Validate the request and compile its rules.
+     *
+     * @throws IllegalArgumentException if there are no patients, too many, or a rule does not exist
+     */
+    public CompiledRuleSet compile(BulkEvaluationRequest request) {
+        List<String> patientIds = request.getPatientIds();
+        if (patientIds == null || patientIds.isEmpty()) {
+            throw new IllegalArgumentException("patientIds must not be empty");
+        }
+        if (patientIds.size() > batchProperties.getMaxBulkPatients()) {
+            throw new IllegalArgumentException("At most " + batchProperties.getMaxBulkPatients()
+                    + " patients per request, got " + patientIds.size());
+        }
+
+        List<CompiledRule> rules = request.getRuleIds() == null || request.getRuleIds().isEmpty()
+                ? evaluationService.compilePublishedRules(request.getClientId())
+                : new LinkedHashSet<>(request.getRuleIds()).stream()
+                        .map(ruleId -> evaluationService.loadCompiledRule(ruleId, request.getClientId()))
+                        .toList();
+        return CompiledRuleSet.of(rules, LocalDate.now());
+    }
+
+    /**
+     * Evaluate every (patient, rule) pair in the background.
+     * The sink is called from this request's writer thread only; the future completes after the last call.
+     * Once cancelled is set (e.g. the client went away), remaining chunks are skipped and queued items dropped.
+     *
+     * @throws RejectedExecutionException if hcc.batch.max-concurrent-bulk-requests requests are in progress
+     */
+    public CompletableFuture<Void> evaluate(
+            List<String> patientIds, CompiledRuleSet ruleSet, Consumer<Object> sink, AtomicBoolean cancelled) {
+
+        if (!requests.tryAcquire()) {
+            throw new RejectedExecutionException("Too many bulk evaluations in progress, retry later");
+        }
+        try {
+            List<String> distinctPatientIds = List.copyOf(new LinkedHashSet<>(patientIds));
+            BlockingQueue<Object> items = new ArrayBlockingQueue<>(Math.max(1, batchProperties.getBulkOutputBuffer()));
+            Consumer<Object> enqueue = item -> put(items, item, cancelled);
+
+            // Split small requests across the pool too, rather than running them as one chunk
+            int parallelism = Math.max(1, batchProperties.getBulkParallelism());
+            int chunkSize = Math.max(1, Math.min(batchProperties.getChunkSize(),
+                    (distinctPatientIds.size() + parallelism - 1) / parallelism));
+
+            List<CompletableFuture<Void>> chunks = new ArrayList<>();
+            for (int from = 0; from < distinctPatientIds.size(); from += chunkSize) {
+                List<String> chunk = distinctPatientIds.subList(from, Math.min(from + chunkSize, distinctPatientIds.size()));
+                chunks.add(CompletableFuture.runAsync(() -> evaluateChunk(chunk, ruleSet, enqueue, cancelled), workers));
+            }
+            CompletableFuture<Void> evaluated = CompletableFuture.allOf(chunks.toArray(new CompletableFuture[0]));
+
+            return CompletableFuture.runAsync(() -> write(items, evaluated, sink, cancelled), writers)
+                    .whenComplete((ignored, error) -> requests.release());
+        } catch (RuntimeException e) {
+            cancelled.set(true);
+            requests.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Hand queued items to the sink until every chunk is done and the queue is empty.
+     */
+    private void write(BlockingQueue<Object> items, CompletableFuture<Void> evaluated,
+                       Consumer<Object> sink, AtomicBoolean cancelled) {
+        try {
+            while (true) {
+                Object item = items.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (item != null) {
+                    deliver(item, sink, cancelled);
+                } else if (evaluated.isDone()) {
+                    // Workers are finished; whatever they queued is already in the queue
+                    for (Object rest = items.poll(); rest != null; rest = items.poll()) {
+                        deliver(rest, sink, cancelled);
+                    }
+                    break;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            cancelled.set(true);
+        }
+        evaluated.join();
+    }
+
+    private static void deliver(Object item, Consumer<Object> sink, AtomicBoolean cancelled) {
+        if (cancelled.get()) {
+            return;
+        }
+        try {
+            sink.accept(item);
+        } catch (RuntimeException e) {
+            log.warn("Bulk evaluation: writing a result failed, cancelling the request: {}", e.getMessage());
+            cancelled.set(true);
+        }
+    }
+
+    /**
+     * Queue an item for the writer, waiting while the buffer is full. The writer keeps draining after a
+     * cancellation, so this never waits on a request that is no longer written.
+     */
+    private static void put(BlockingQueue<Object> items, Object item, AtomicBoolean cancelled) {
+        try {
+            while (!cancelled.get() && !items.offer(item, POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                // Writer is behind; wait for room
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            cancelled.set(true);
+        }
+    }
+
+    private static ThreadFactory daemon(String prefix) {
+        AtomicInteger threadCount = new AtomicInteger();
+        return r -> {
+            Thread thread = new Thread(r, prefix + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private void evaluateChunk(
+            List<String> patientIds, CompiledRuleSet ruleSet, Consumer<Object> sink, AtomicBoolean cancelled) {
+
+        if (cancelled.get()) {
+            return;
+        }
+
+        Map<String, PatientEvidence> evidenceByPatient;
+        try {
+            evidenceByPatient = evidenceLoader.loadAll(
+                    patientIds, ruleSet.footprint(), ruleSet.windowStart(), ruleSet.windowEnd());
+        } catch (Exception e) {
+            log.error("Bulk evaluation: failed to load evidence for chunk of {} patients: {}",
+                    patientIds.size(), e.getMessage(), e);
+            for (String patientId : patientIds) {
+                sink.accept(BulkEvaluationFailure.builder()
+                        .patientId(patientId)
+                        .error("Failed to load evidence")
+                        .build());
+            }
+            return;
+        }
+
+        for (String patientId : patientIds) {
+            if (cancelled.get()) {
+                return;
+            }
+            PatientEvidence evidence = evidenceByPatient.get(patientId);
+            for (CompiledRule rule : ruleSet.rules()) {
+                Object item;
+                try {
+                    item = evaluationService.evaluate(patientId, rule, evidence, ruleSet.windowEnd());
+                } catch (Exception e) {
+                    log.warn("Bulk evaluation: error evaluating patient {} against rule {}: {}",
+                            patientId, rule.ruleId(), e.getMessage());
+                    item = BulkEvaluationFailure.builder()
+                            .patientId(patientId)
+                            .ruleId(rule.ruleId())
+                            .error(e.getMessage())
+                            .build();
+                }
+                sink.accept(item);
+            }
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.algoaccel.hcc.service;
+
+import com.algoaccel.hcc.config.HccRuleSnapshotProperties;
+import com.algoaccel.hcc.dto.RuleSnapshotFingerprint;
+import com.algoaccel.hcc.engine.CompiledRule;
+import com.algoaccel.hcc.engine.RuleCompiler;
+import com.algoaccel.hcc.event.RuleChangedEvent;
+import com.algoaccel.hcc.model.HccClientConfig;
+import com.algoaccel.hcc.model.HccSuspectRule;
+import com.algoaccel.hcc.repository.HccSuspectRuleRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compiled effective rules keyed by rule id, holding the canonical rule and one per configured client.
+ *
+ * A hit costs one fingerprint lookup instead of loading the rule with its tiers, suppression and client
+ * configs and rebuilding the effective rule. Client configs are saved through the rule aggregate, so
+ * every rule or client config change publishes a RuleChangedEvent and evicts the rule's entry; an entry
+ * whose rule or child versions no longer match (e.g. edited on another instance) is replaced, and
+ * an eviction generation keeps a load that raced with an eviction from re-inserting what it read.
+ * Clients without a config share the canonical rule, and the least recently used rules are dropped
+ * beyond hcc.rule-snapshot.effective-rule-cache-size.
+ */
+@Service
+@RequiredArgsConstructor
+public class EffectiveRuleCache {
+
+    private final HccRuleService hccRuleService;
+    private final HccSuspectRuleRepository ruleRepository;
+    private final RuleCompiler ruleCompiler;
+    private final HccRuleSnapshotProperties properties;
+
+    private final Map<Long, Entry> cache = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+            return size() > properties.getEffectiveRuleCacheSize();
+        }
+    };
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * Compiled effective rule for a client; a null or empty clientId, or a client without a config for
+     * the rule, means the canonical rule.
+     *
+     * @throws RuleNotFoundException if the rule does not exist
+     */
+    @Transactional(readOnly = true)
+    public CompiledRule get(Long ruleId, String clientId) {
+        long loadGeneration = generation.get();
+        List<RuleSnapshotFingerprint> fingerprint = ruleRepository.findSnapshotFingerprints(null, ruleId);
+        if (fingerprint.isEmpty()) {
+            throw new RuleNotFoundException(ruleId);
+        }
+
+        Entry cached = cached(fingerprint.get(0));
+        if (cached != null) {
+            return cached.forClient(clientId);
+        }
+        HccSuspectRule rule = hccRuleService.getRuleWithTiers(ruleId)
+                .orElseThrow(() -> new RuleNotFoundException(ruleId));
+        return compileAndCache(rule, loadGeneration).forClient(clientId);
+    }
+
+    /**
+     * Compiled effective rule for an already loaded rule (with tiers and client configs initialized).
+     */
+    @Transactional(readOnly = true)
+    public CompiledRule get(HccSuspectRule rule, String clientId) {
+        long loadGeneration = generation.get();
+        Entry cached = rule.getId() != null ? cached(RuleSnapshotFingerprint.of(rule)) : null;
+        return (cached != null ? cached : compileAndCache(rule, loadGeneration)).forClient(clientId);
+    }
+
+    public void evict(Long ruleId) {
+        generation.incrementAndGet();
+        synchronized (cache) {
+            cache.remove(ruleId);
+        }
+    }
+
+    public void clear() {
+        generation.incrementAndGet();
+        synchronized (cache) {
+            cache.clear();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRuleChanged(RuleChangedEvent event) {
+        evict(event.ruleId());
+    }
+
+    private Entry cached(RuleSnapshotFingerprint fingerprint) {
+        Entry entry;
+        synchronized (cache) {
+            entry = cache.get(fingerprint.ruleId());
+        }
+        return entry != null && entry.fingerprint().equals(fingerprint) ? entry : null;
+    }
+
+    private Entry compileAndCache(HccSuspectRule rule, long loadGeneration) {
+        Map<String, CompiledRule> byClient = new HashMap<>();
+        for (HccClientConfig config : rule.getClientConfigs()) {
+            byClient.put(config.getClientId(), ruleCompiler.compileRule(
+                    hccRuleService.applyClientConfig(rule, config.getClientId()), config));
+        }
+        Entry entry = new Entry(RuleSnapshotFingerprint.of(rule), ruleCompiler.compileRule(rule), Map.copyOf(byClient));
+
+        // Unsaved rules have no stable identity to cache under
+        if (rule.getId() != null) {
+            synchronized (cache) {
+                // Evicted while loading, what was loaded may predate the change
+                if (generation.get() == loadGeneration) {
+                    cache.put(rule.getId(), entry);
+                }
+            }
+        }
+        return entry;
+    }
+
+    private record Entry(
+            RuleSnapshotFingerprint fingerprint, CompiledRule canonical, Map<String, CompiledRule> byClient) {
+
+        CompiledRule forClient(String clientId) {
+            if (clientId == null || clientId.isEmpty()) {
+                return canonical;
+            }
+            return byClient.getOrDefault(clientId, canonical);
+        }
+    }
+}
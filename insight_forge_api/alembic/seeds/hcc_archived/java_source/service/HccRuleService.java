@@ -1,9 +1,17 @@
 package com.algoaccel.hcc.service;
 
+import com.algoaccel.hcc.dto.HccRuleSummaryDto;
+import com.algoaccel.hcc.dto.RuleListFingerprint;
+import com.algoaccel.hcc.engine.RuleCompiler;
+import com.algoaccel.hcc.event.RuleChangedEvent;
 import com.algoaccel.hcc.model.HccSuspectRule;
 import com.algoaccel.hcc.model.HccClientConfig;
+import com.algoaccel.hcc.model.enums.HccRuleStatus;
 import com.algoaccel.hcc.repository.HccSuspectRuleRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -19,12 +27,18 @@ import java.util.Optional;
 public class HccRuleService {
 
     private final HccSuspectRuleRepository ruleRepository;
+    private final RuleCompiler ruleCompiler;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Save a new rule or update an existing one.
      */
     public HccSuspectRule save(HccSuspectRule rule) {
-        return ruleRepository.save(rule);
+        HccSuspectRule saved = ruleRepository.save(rule);
+        // Tier edits cascade through the rule without necessarily bumping its version
+        ruleCompiler.evictRule(saved.getId());
+        eventPublisher.publishEvent(new RuleChangedEvent(saved.getId()));
+        return saved;
     }
 
     /**
@@ -35,6 +49,30 @@ public class HccRuleService {
         return ruleRepository.findAll();
     }
 
+    /**
+     * A page of rule summaries, optionally filtered by status and HCC category (null means any).
+     */
+    @Transactional(readOnly = true)
+    public Page<HccRuleSummaryDto> findSummaries(HccRuleStatus status, String hccCategory, Pageable pageable) {
+        return ruleRepository.findSummaries(status, hccCategory, pageable);
+    }
+
+    /**
+     * Version fingerprint of the rules matching a list filter, for conditional requests.
+     */
+    @Transactional(readOnly = true)
+    public RuleListFingerprint getListFingerprint(HccRuleStatus status, String hccCategory) {
+        return ruleRepository.findListFingerprint(status, hccCategory);
+    }
+
+    /**
+     * Find all rules with the given status.
+     */
+    @Transactional(readOnly = true)
+    public List<HccSuspectRule> findByStatus(HccRuleStatus status) {
+        return ruleRepository.findByStatus(status);
+    }
+
     /**
      * Find a rule by ID.
      */
@@ -44,20 +82,28 @@ public class HccRuleService {
     }
 
     /**
-     * Get rule with all tiers and suppression configs loaded.
+     * Get rule with tiers, suppression configs and client configs loaded (two queries).
      */
     @Transactional(readOnly = true)
     public Optional<HccSuspectRule> getRuleWithTiers(Long ruleId) {
-        Optional<HccSuspectRule> ruleOpt = ruleRepository.findById(ruleId);
-        ruleOpt.ifPresent(rule -> {
-            // Force lazy loading of tiers and suppression configs
-            rule.getTiers().size();
-            rule.getSuppressionConfigs().size();
-            rule.getClientConfigs().size();
-        });
+        Optional<HccSuspectRule> ruleOpt = ruleRepository.findWithTiersById(ruleId);
+        ruleOpt.ifPresent(rule -> ruleRepository.fetchClientConfigsById(ruleId));
         return ruleOpt;
     }
 
+    /**
+     * Find all rules with the given status, each with tiers, suppression configs and client configs
+     * loaded (two queries in total).
+     */
+    @Transactional(readOnly = true)
+    public List<HccSuspectRule> findByStatusWithTiers(HccRuleStatus status) {
+        List<HccSuspectRule> rules = ruleRepository.findWithTiersByStatus(status);
+        if (!rules.isEmpty()) {
+            ruleRepository.fetchClientConfigsByStatus(status);
+        }
+        return rules;
+    }
+
     /**
      * Update an existing rule.
      */
@@ -73,9 +119,11 @@ public class HccRuleService {
                     existing.setStatus(updatedRule.getStatus());
                     existing.setModelYear(updatedRule.getModelYear());
                     existing.setLookbackYears(updatedRule.getLookbackYears());
-                    return ruleRepository.save(existing);
+                    HccSuspectRule saved = ruleRepository.save(existing);
+                    eventPublisher.publishEvent(new RuleChangedEvent(id));
+                    return saved;
                 })
-                .orElseThrow(() -> new IllegalArgumentException("Rule not found with id: " + id));
+                .orElseThrow(() -> new RuleNotFoundException(id));
     }
 
     /**
@@ -83,6 +131,8 @@ public class HccRuleService {
      */
     public void delete(Long id) {
         ruleRepository.deleteById(id);
+        ruleCompiler.evictRule(id);
+        eventPublisher.publishEvent(new RuleChangedEvent(id));
     }
 
     /**
@@ -92,8 +142,15 @@ public class HccRuleService {
     @Transactional(readOnly = true)
     public HccSuspectRule applyClientConfig(Long ruleId, String clientId) {
         HccSuspectRule rule = getRuleWithTiers(ruleId)
-                .orElseThrow(() -> new IllegalArgumentException("Rule not found with id: " + ruleId));
+                .orElseThrow(() -> new RuleNotFoundException(ruleId));
+        return applyClientConfig(rule, clientId);
+    }
 
+    /**
+     * Apply client-specific overrides to an already loaded rule.
+     */
+    @Transactional(readOnly = true)
+    public HccSuspectRule applyClientConfig(HccSuspectRule rule, String clientId) {
         Optional<HccClientConfig> clientConfig = rule.getClientConfigs().stream()
                 .filter(c -> c.getClientId().equals(clientId))
                 .findFirst();
@@ -119,7 +176,7 @@ public class HccRuleService {
                 .version(rule.getVersion())
                 .build();
 
-        // Copy tiers and suppression configs (client branch disabling handled in evaluation)
+        // Copy tiers and suppression configs (branch and threshold overrides are applied by RuleCompiler)
         effectiveRule.getTiers().addAll(rule.getTiers());
         effectiveRule.getSuppressionConfigs().addAll(rule.getSuppressionConfigs());
 
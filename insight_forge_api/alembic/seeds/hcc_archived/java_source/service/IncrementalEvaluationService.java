@@ -0,0 +1,156 @@
+package com.algoaccel.hcc.service;
+
+import com.algoaccel.hcc.dto.SuspectEvaluationResult;
+import com.algoaccel.hcc.engine.CompiledRule;
+import com.algoaccel.hcc.engine.CompiledRuleSet;
+import com.algoaccel.hcc.engine.RuleIndex;
+import com.algoaccel.hcc.event.EvidenceChangedEvent;
+import com.algoaccel.hcc.event.RejectionStateChangedEvent;
+import com.algoaccel.hcc.event.RuleChangedEvent;
+import com.algoaccel.hcc.port.SuspectResultStore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Re-evaluates only the patient/rule pairs affected by new evidence, instead of the whole population.
+ *
+ * Evidence and rejection changes arrive as application events. A concept-alias reverse index over the
+ * PUBLISHED rules maps each change to the rules that read it. Affected pairs are coalesced per patient
+ * and drained on the hcc.batch worker pool; each patient's evidence is loaded once for all of its
+ * affected rules and the stored results are replaced. Listeners run after the publishing transaction
+ * commits, so re-evaluation sees the new rows. The index is rebuilt lazily after a rule change; a
+ * generation counter keeps an index built from rules read before the change from being published.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class IncrementalEvaluationService {
+
+    private final SuspectEvaluationService evaluationService;
+    private final SuspectResultStore resultStore;
+    private final ExecutorService hccBatchExecutor;
+
+    private final AtomicReference<RuleIndex> ruleIndex = new AtomicReference<>();
+    private final AtomicLong ruleGeneration = new AtomicLong();
+    private final Map<String, Set<Long>> pending = new ConcurrentHashMap<>();
+    private final AtomicBoolean drainScheduled = new AtomicBoolean();
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEvidenceChanged(EvidenceChangedEvent event) {
+        enqueue(event.patientId(), ruleIndex().affectedRules(event.evidenceType(), event.conceptAliases()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRejectionStateChanged(RejectionStateChangedEvent event) {
+        if (ruleIndex().rule(event.ruleId()) != null) {
+            enqueue(event.patientId(), Set.of(event.ruleId()));
+        }
+    }
+
+    /**
+     * Rules changed; rebuild the reverse index on next use.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRuleChanged(RuleChangedEvent event) {
+        ruleGeneration.incrementAndGet();
+        ruleIndex.set(null);
+    }
+
+    /**
+     * Re-evaluate every pending patient/rule pair on the calling thread.
+     *
+     * @return the number of patient/rule evaluations performed
+     */
+    public int reevaluatePending() {
+        RuleIndex index = ruleIndex();
+        int evaluations = 0;
+
+        for (String patientId : List.copyOf(pending.keySet())) {
+            Set<Long> ruleIds = pending.remove(patientId);
+            if (ruleIds == null) {
+                continue;
+            }
+
+            List<CompiledRule> rules = ruleIds.stream()
+                    .map(index::rule)
+                    .filter(Objects::nonNull)
+                    .toList();
+            if (rules.isEmpty()) {
+                continue;
+            }
+
+            try {
+                for (SuspectEvaluationResult result :
+                        evaluationService.evaluateRules(patientId, CompiledRuleSet.of(rules, LocalDate.now()))) {
+                    resultStore.save(result);
+                    evaluations++;
+                }
+            } catch (Exception e) {
+                log.warn("Incremental re-evaluation failed for patient {} against rules {}: {}",
+                        patientId, ruleIds, e.getMessage());
+            }
+        }
+        return evaluations;
+    }
+
+    /**
+     * Number of patients waiting for re-evaluation.
+     */
+    public int pendingPatients() {
+        return pending.size();
+    }
+
+    private void enqueue(String patientId, Set<Long> ruleIds) {
+        if (patientId == null || ruleIds.isEmpty()) {
+            return;
+        }
+        pending.merge(patientId, Set.copyOf(ruleIds), (existing, added) -> {
+            Set<Long> merged = new HashSet<>(existing);
+            merged.addAll(added);
+            return Set.copyOf(merged);
+        });
+        scheduleDrain();
+    }
+
+    private void scheduleDrain() {
+        if (drainScheduled.compareAndSet(false, true)) {
+            hccBatchExecutor.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        try {
+            int evaluations = reevaluatePending();
+            log.debug("Incremental re-evaluation: {} patient/rule evaluations", evaluations);
+        } finally {
+            drainScheduled.set(false);
+            // Pick up changes that arrived after the last patient was taken
+            if (!pending.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+    }
+
+    private RuleIndex ruleIndex() {
+        RuleIndex index = ruleIndex.get();
+        if (index == null) {
+            long buildGeneration = ruleGeneration.get();
+            index = RuleIndex.of(evaluationService.compilePublishedRules(null));
+            if (ruleIndex.compareAndSet(null, index) && ruleGeneration.get() != buildGeneration) {
+                // Rules changed while building; what was read may predate the change
+                ruleIndex.compareAndSet(index, null);
+            }
+        }
+        return index;
+    }
+}
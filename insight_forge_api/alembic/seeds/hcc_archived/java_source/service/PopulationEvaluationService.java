@@ -0,0 +1,306 @@
+package com.algoaccel.hcc.service;
+
+import com.algoaccel.hcc.config.HccBatchProperties;
+import com.algoaccel.hcc.dto.PopulationRunRequest;
+import com.algoaccel.hcc.dto.PopulationRunStatus;
+import com.algoaccel.hcc.dto.SuspectEvaluationResult;
+import com.algoaccel.hcc.engine.CompiledRule;
+import com.algoaccel.hcc.engine.CompiledRuleSet;
+import com.algoaccel.hcc.engine.CompiledSuppression;
+import com.algoaccel.hcc.engine.EvidenceLoader;
+import com.algoaccel.hcc.engine.PatientEvidence;
+import com.algoaccel.hcc.engine.SuppressionIndex;
+import com.algoaccel.hcc.model.HccSuspectRule;
+import com.algoaccel.hcc.model.enums.HccRuleStatus;
+import com.algoaccel.hcc.port.PatientDataPort;
+import com.algoaccel.hcc.port.PatientIdCursor;
+import com.algoaccel.hcc.port.PatientIdRange;
+import com.algoaccel.hcc.port.SuspectResultStore;
+import lombok.RequiredArgsConstructor;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Evaluates a set of rules across the whole patient population.
+ *
+ * Rules are compiled once per run, suppression statuses for their target HCCs are loaded
+ * once per run into a SuppressionIndex, and rules that resurface rejected suspects get a fresh
+ * RejectionSnapshot, held until the run ends. Patient ids are streamed from a keyset cursor (optionally limited to a
+ * range) and cut into chunks of hcc.batch.chunk-size; each chunk loads its evidence with
+ * set-based queries and is evaluated on the hcc.batch worker pool. At most twice
+ * hcc.batch.parallelism chunks are in flight, so a run's memory does not grow with the
+ * population. Results go to the SuspectResultStore.
+ *
+ * Submitted runs are coordinated on a small pool of hcc.batch.max-concurrent-runs threads with a
+ * queue of hcc.batch.max-queued-runs; runs beyond that are rejected. Finished runs are kept for
+ * hcc.batch.completed-run-ttl, and at most hcc.batch.max-retained-runs of them.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PopulationEvaluationService {
+
+    private final SuspectEvaluationService evaluationService;
+    private final HccRuleService hccRuleService;
+    private final EvidenceLoader evidenceLoader;
+    private final PatientDataPort patientDataPort;
+    private final SuspectResultStore resultStore;
+    private final RejectionStateCache rejectionStateCache;
+    private final HccBatchProperties batchProperties;
+    private final ExecutorService hccBatchExecutor;
+
+    private final Map<String, PopulationRun> runs = new ConcurrentHashMap<>();
+
+    private ThreadPoolExecutor coordinators;
+
+    @PostConstruct
+    void startCoordinators() {
+        int threads = Math.max(1, batchProperties.getMaxConcurrentRuns());
+        AtomicInteger threadCount = new AtomicInteger();
+        coordinators = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, batchProperties.getMaxQueuedRuns())), r -> {
+                    Thread thread = new Thread(r, "hcc-population-run-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @PreDestroy
+    void stopCoordinators() {
+        coordinators.shutdownNow();
+    }
+
+    /**
+     * Start a population run in the background and return its initial status.
+     *
+     * @throws IllegalArgumentException    if fromPatientId sorts after toPatientId
+     * @throws RejectedExecutionException if too many runs are already running or queued
+     */
+    public PopulationRunStatus submit(PopulationRunRequest request) {
+        PopulationRun run = newRun(request);
+        try {
+            coordinators.execute(() -> execute(run));
+        } catch (RejectedExecutionException e) {
+            runs.remove(run.runId);
+            throw new RejectedExecutionException("Too many population runs in progress, retry later", e);
+        }
+        return run.toStatus();
+    }
+
+    /**
+     * Run a population evaluation on the calling thread and return its final status.
+     */
+    public PopulationRunStatus run(PopulationRunRequest request) {
+        PopulationRun run = newRun(request);
+        execute(run);
+        return run.toStatus();
+    }
+
+    public Optional<PopulationRunStatus> getStatus(String runId) {
+        return Optional.ofNullable(runs.get(runId)).map(PopulationRun::toStatus);
+    }
+
+    private PopulationRun newRun(PopulationRunRequest request) {
+        pruneFinishedRuns();
+        PopulationRun run = new PopulationRun(UUID.randomUUID().toString(), request.getClientId(),
+                new PatientIdRange(request.getFromPatientId(), request.getToPatientId()));
+        if (request.getRuleIds() != null) {
+            run.ruleIds.addAll(request.getRuleIds());
+        }
+        runs.put(run.runId, run);
+        return run;
+    }
+
+    /**
+     * Drop finished runs older than the TTL, then the oldest finished runs beyond the retention cap.
+     */
+    private void pruneFinishedRuns() {
+        Instant expiry = Instant.now().minus(batchProperties.getCompletedRunTtl());
+        runs.values().removeIf(run -> run.completedAt != null && run.completedAt.isBefore(expiry));
+
+        List<PopulationRun> finished = runs.values().stream()
+                .filter(run -> run.completedAt != null)
+                .sorted(Comparator.comparing(run -> run.completedAt))
+                .toList();
+        int excess = finished.size() - Math.max(0, batchProperties.getMaxRetainedRuns());
+        for (int i = 0; i < excess; i++) {
+            runs.remove(finished.get(i).runId);
+        }
+    }
+
+    private void execute(PopulationRun run) {
+        List<Long> rejectionSnapshots = new ArrayList<>();
+        try {
+            if (run.ruleIds.isEmpty()) {
+                hccRuleService.findByStatus(HccRuleStatus.PUBLISHED).stream()
+                        .map(HccSuspectRule::getId)
+                        .forEach(run.ruleIds::add);
+            }
+
+            CompiledRuleSet ruleSet = CompiledRuleSet.of(
+                    run.ruleIds.stream()
+                            .map(ruleId -> evaluationService.loadCompiledRule(ruleId, run.clientId))
+                            .toList(),
+                    LocalDate.now());
+            SuppressionIndex suppressions = SuppressionIndex.load(patientDataPort, ruleSet.rules());
+            log.info("Population run {}: loaded {} suppression statuses", run.runId, suppressions.size());
+            for (CompiledRule rule : ruleSet.rules()) {
+                if (rule.suppressionByModel().values().stream().anyMatch(CompiledSuppression::resurfacingEnabled)) {
+                    rejectionSnapshots.add(rule.ruleId());
+                    rejectionStateCache.load(rule.ruleId());
+                }
+            }
+
+            run.patientsTotal.set(patientDataPort.countPatientIds(run.range));
+
+            int chunkSize = Math.max(1, batchProperties.getChunkSize());
+            int maxInFlight = Math.max(1, batchProperties.getParallelism()) * 2;
+            Semaphore inFlight = new Semaphore(maxInFlight);
+            try (PatientIdCursor patientIds = patientDataPort.streamPatientIds(run.range)) {
+                while (patientIds.hasNext()) {
+                    List<String> chunk = new ArrayList<>(chunkSize);
+                    while (chunk.size() < chunkSize && patientIds.hasNext()) {
+                        chunk.add(patientIds.next());
+                    }
+                    inFlight.acquire();
+                    try {
+                        CompletableFuture.runAsync(() -> evaluateChunk(run, chunk, ruleSet, suppressions), hccBatchExecutor)
+                                .whenComplete((ignored, e) -> inFlight.release());
+                    } catch (RuntimeException e) {
+                        inFlight.release();
+                        throw e;
+                    }
+                }
+            } finally {
+                // Wait for the chunks still running, also when reading ids failed
+                inFlight.acquireUninterruptibly(maxInFlight);
+            }
+
+            run.complete("COMPLETED", null);
+            PopulationRunStatus status = run.toStatus();
+            log.info("Population run {} evaluated {} patients x {} rules in {} ms ({} patients/s, {} suspects, {} failures)",
+                    run.runId, status.getPatientsEvaluated(), ruleSet.rules().size(), status.getElapsedMillis(),
+                    String.format("%.1f", status.getPatientsPerSecond()), status.getSuspects(), status.getFailures());
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error("Population run {} interrupted", run.runId);
+            run.complete("FAILED", "Interrupted");
+        } catch (Exception e) {
+            log.error("Population run {} failed: {}", run.runId, e.getMessage(), e);
+            run.complete("FAILED", e.getMessage());
+        } finally {
+            // Nothing refreshes a snapshot from other instances' changes once the run is over
+            rejectionSnapshots.forEach(rejectionStateCache::release);
+        }
+    }
+
+    private void evaluateChunk(
+            PopulationRun run, List<String> patientIds, CompiledRuleSet ruleSet, SuppressionIndex suppressions) {
+        List<CompiledRule> rules = ruleSet.rules();
+
+        Map<String, PatientEvidence> evidenceByPatient;
+        try {
+            evidenceByPatient = evidenceLoader.loadAll(
+                    patientIds, ruleSet.footprint(), ruleSet.windowStart(), ruleSet.windowEnd());
+        } catch (Exception e) {
+            log.error("Population run {}: failed to load evidence for chunk of {} patients: {}",
+                    run.runId, patientIds.size(), e.getMessage(), e);
+            run.failures.addAndGet((long) patientIds.size() * rules.size());
+            run.patientsEvaluated.addAndGet(patientIds.size());
+            return;
+        }
+
+        for (String patientId : patientIds) {
+            PatientEvidence evidence = evidenceByPatient.get(patientId);
+            for (CompiledRule rule : rules) {
+                try {
+                    SuspectEvaluationResult result = evaluationService.evaluate(
+                            patientId, rule, evidence, ruleSet.windowEnd(), suppressions);
+                    resultStore.save(result);
+                    run.evaluations.incrementAndGet();
+                    if (result.getModelResults().values().stream()
+                            .anyMatch(m -> !"NOT_SUSPECTED".equals(m.getStratification()))) {
+                        run.suspects.incrementAndGet();
+                    }
+                } catch (Exception e) {
+                    log.warn("Population run {}: error evaluating patient {} against rule {}: {}",
+                            run.runId, patientId, rule.ruleId(), e.getMessage());
+                    run.failures.incrementAndGet();
+                }
+            }
+            run.patientsEvaluated.incrementAndGet();
+        }
+    }
+
+    /**
+     * Live counters of a population run.
+     */
+    private static class PopulationRun {
+        final String runId;
+        final String clientId;
+        final PatientIdRange range;
+        final List<Long> ruleIds = new CopyOnWriteArrayList<>();
+        final Instant startedAt = Instant.now();
+        final AtomicLong patientsTotal = new AtomicLong();
+        final AtomicLong patientsEvaluated = new AtomicLong();
+        final AtomicLong evaluations = new AtomicLong();
+        final AtomicLong suspects = new AtomicLong();
+        final AtomicLong failures = new AtomicLong();
+        volatile String state = "RUNNING";
+        volatile Instant completedAt;
+        volatile String errorMessage;
+
+        PopulationRun(String runId, String clientId, PatientIdRange range) {
+            this.runId = runId;
+            this.clientId = clientId;
+            this.range = range;
+        }
+
+        void complete(String finalState, String error) {
+            this.errorMessage = error;
+            this.completedAt = Instant.now();
+            this.state = finalState;
+        }
+
+        PopulationRunStatus toStatus() {
+            Instant end = completedAt != null ? completedAt : Instant.now();
+            long elapsedMillis = Duration.between(startedAt, end).toMillis();
+            long evaluated = patientsEvaluated.get();
+            return PopulationRunStatus.builder()
+                    .runId(runId)
+                    .state(state)
+                    .ruleIds(List.copyOf(ruleIds))
+                    .clientId(clientId)
+                    .patientsTotal(patientsTotal.get())
+                    .patientsEvaluated(evaluated)
+                    .evaluations(evaluations.get())
+                    .suspects(suspects.get())
+                    .failures(failures.get())
+                    .startedAt(startedAt)
+                    .completedAt(completedAt)
+                    .elapsedMillis(elapsedMillis)
+                    .patientsPerSecond(elapsedMillis > 0 ? evaluated * 1000.0 / elapsedMillis : 0)
+                    .errorMessage(errorMessage)
+                    .build();
+        }
+    }
+}
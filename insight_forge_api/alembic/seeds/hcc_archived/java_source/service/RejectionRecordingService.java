@@ -0,0 +1,265 @@
+package com.algoaccel.hcc.service;
+
+import com.algoaccel.hcc.config.HccRejectionProperties;
+import com.algoaccel.hcc.dto.RejectionRequest;
+import com.algoaccel.hcc.event.RejectionStateChangedEvent;
+import com.algoaccel.hcc.model.HccRuleRejectionState;
+import com.algoaccel.hcc.model.enums.HccModelType;
+import com.algoaccel.hcc.repository.HccSuspectRuleRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Records clinician rejections with write-behind batching.
+ *
+ * Accepted rejections are queued in RejectionStateCache, where a later rejection for the same patient,
+ * rule and model replaces an earlier one, and are visible to resurfacing checks at once. The queue is
+ * written with JDBC batch upserts every hcc.rejection.flush-interval, or early on a background flusher
+ * when it reaches hcc.rejection.max-pending. Beyond hcc.rejection.max-queued (e.g. while the database
+ * is down) requests are rejected instead of growing the queue. Each written rejection publishes a RejectionStateChangedEvent
+ * after commit. A batch that violates a constraint (e.g. its rule was deleted meanwhile) is retried row
+ * by row and the offending rows are dropped; on other failures the rejections stay queued, and scheduled and
+ * early flushes back off (doubling up to hcc.rejection.max-flush-backoff) until a flush succeeds. Only the
+ * first failure of a streak is logged with its stack trace.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RejectionRecordingService {
+
+    private static final String UPSERT_REJECTION =
+            "MERGE INTO hcc_rule_rejection_state t "
+                    + "USING (VALUES (CAST(? AS VARCHAR(100)), CAST(? AS BIGINT), CAST(? AS VARCHAR(10)), "
+                    + "CAST(? AS DATE), CAST(? AS VARCHAR(255)))) "
+                    + "AS s (patient_id, rule_id, model_type, rejected_at, last_triggering_concept_alias) "
+                    + "ON t.patient_id = s.patient_id AND t.rule_id = s.rule_id AND t.model_type = s.model_type "
+                    + "WHEN MATCHED THEN UPDATE SET rejected_at = s.rejected_at, "
+                    + "last_triggering_concept_alias = s.last_triggering_concept_alias "
+                    + "WHEN NOT MATCHED THEN INSERT (patient_id, rule_id, model_type, rejected_at, last_triggering_concept_alias) "
+                    + "VALUES (s.patient_id, s.rule_id, s.model_type, s.rejected_at, s.last_triggering_concept_alias)";
+
+    private final RejectionStateCache rejectionStateCache;
+    private final HccSuspectRuleRepository ruleRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final HccRejectionProperties properties;
+
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final Object queueLock = new Object();
+
+    // Guarded by flushLock
+    private int failedFlushes;
+    private long retryAtNanos;
+
+    private ThreadPoolExecutor flusher;
+
+    @PostConstruct
+    void startFlusher() {
+        // One flush running and one waiting at most; further requests are covered by the waiting one
+        flusher = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(1), r -> {
+            Thread thread = new Thread(r, "hcc-rejection-flush");
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.DiscardPolicy());
+    }
+
+    /**
+     * Validate and queue rejections.
+     *
+     * @return the number of rejections accepted
+     * @throws IllegalArgumentException if the request is empty, too large, has a missing field or an
+     *                                  unknown model type
+     * @throws RuleNotFoundException if a rejection names a rule that does not exist
+     * @throws RejectedExecutionException if the queue would grow beyond hcc.rejection.max-queued
+     */
+    public int record(List<RejectionRequest> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new IllegalArgumentException("rejections must not be empty");
+        }
+        if (requests.size() > properties.getMaxRequestSize()) {
+            throw new IllegalArgumentException("At most " + properties.getMaxRequestSize()
+                    + " rejections per request, got " + requests.size());
+        }
+
+        List<HccRuleRejectionState> states = new ArrayList<>(requests.size());
+        Set<Long> ruleIds = new TreeSet<>();
+        for (RejectionRequest request : requests) {
+            states.add(toState(request));
+            ruleIds.add(request.getRuleId());
+        }
+        for (Long ruleId : ruleIds) {
+            if (!ruleRepository.existsById(ruleId)) {
+                throw new RuleNotFoundException(ruleId);
+            }
+        }
+
+        synchronized (queueLock) {
+            // Counted as if none replaced a queued rejection, so the limit holds
+            if (rejectionStateCache.unflushedCount() + states.size() > properties.getMaxQueued()) {
+                flusher.execute(this::flushQueued);
+                throw new RejectedExecutionException("Too many rejections waiting to be written, retry later");
+            }
+            for (HccRuleRejectionState state : states) {
+                rejectionStateCache.record(state);
+            }
+        }
+        if (rejectionStateCache.unflushedCount() >= properties.getMaxPending()) {
+            flusher.execute(this::flushQueued);
+        }
+        return states.size();
+    }
+
+    /**
+     * Flush unless backing off after a failed flush.
+     */
+    @Scheduled(fixedDelayString = "${hcc.rejection.flush-interval:PT0.2S}")
+    public void flushQueued() {
+        flushLock.lock();
+        try {
+            if (failedFlushes > 0 && System.nanoTime() - retryAtNanos < 0) {
+                return;
+            }
+            flush();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Write every queued rejection. Concurrent callers wait for the flush in progress.
+     *
+     * @return the number of rejections written
+     */
+    public int flush() {
+        flushLock.lock();
+        try {
+            List<HccRuleRejectionState> queued = List.copyOf(rejectionStateCache.unflushed());
+            int batchSize = Math.max(1, properties.getBatchSize());
+            int written = 0;
+            for (int from = 0; from < queued.size(); from += batchSize) {
+                try {
+                    written += write(queued.subList(from, Math.min(from + batchSize, queued.size())));
+                } catch (RuntimeException e) {
+                    failed(queued.size() - written, e);
+                    return written;
+                }
+            }
+            if (failedFlushes > 0) {
+                log.info("Flushing rejections recovered after {} failed attempts", failedFlushes);
+                failedFlushes = 0;
+            }
+            if (written > 0) {
+                log.debug("Flushed {} rejections", written);
+            }
+            return written;
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void failed(int stillQueued, RuntimeException e) {
+        failedFlushes++;
+        long interval = Math.max(1, properties.getFlushInterval().toNanos());
+        long backoff = Math.min(properties.getMaxFlushBackoff().toNanos(),
+                interval << Math.min(failedFlushes, 20));
+        retryAtNanos = System.nanoTime() + backoff;
+        if (failedFlushes == 1) {
+            log.error("Flushing rejections failed; {} stay queued: {}", stillQueued, e.getMessage(), e);
+        } else {
+            log.warn("Flushing rejections failed again ({} attempts); {} stay queued, retrying in {} ms: {}",
+                    failedFlushes, stillQueued, TimeUnit.NANOSECONDS.toMillis(backoff), e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        // A flush in progress finishes first; flush() waits for it
+        flusher.shutdown();
+        int written = flush();
+        if (written > 0) {
+            log.info("Flushed {} queued rejections on shutdown", written);
+        }
+    }
+
+    private int write(List<HccRuleRejectionState> batch) {
+        try {
+            upsert(batch);
+            batch.forEach(rejectionStateCache::markFlushed);
+            return batch.size();
+        } catch (DataIntegrityViolationException e) {
+            log.warn("Rejection batch of {} violates a constraint, retrying row by row: {}", batch.size(), e.getMessage());
+        }
+
+        int written = 0;
+        for (HccRuleRejectionState state : batch) {
+            try {
+                upsert(List.of(state));
+                written++;
+            } catch (DataIntegrityViolationException e) {
+                log.error("Dropping rejection for patient {} rule {} model {}: {}",
+                        state.getPatientId(), state.getRuleId(), state.getModelType(), e.getMessage());
+            }
+            rejectionStateCache.markFlushed(state);
+        }
+        return written;
+    }
+
+    private void upsert(List<HccRuleRejectionState> batch) {
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(UPSERT_REJECTION, batch, batch.size(), RejectionRecordingService::setArgs);
+            for (HccRuleRejectionState state : batch) {
+                eventPublisher.publishEvent(RejectionStateChangedEvent.of(state));
+            }
+        });
+    }
+
+    private static void setArgs(PreparedStatement ps, HccRuleRejectionState state) throws SQLException {
+        ps.setString(1, state.getPatientId());
+        ps.setLong(2, state.getRuleId());
+        ps.setString(3, state.getModelType().name());
+        ps.setDate(4, Date.valueOf(state.getRejectedAt()));
+        ps.setString(5, state.getLastTriggeringConceptAlias());
+    }
+
+    private static HccRuleRejectionState toState(RejectionRequest request) {
+        if (request.getPatientId() == null || request.getPatientId().isBlank()) {
+            throw new IllegalArgumentException("patientId is required");
+        }
+        if (request.getRuleId() == null) {
+            throw new IllegalArgumentException("ruleId is required");
+        }
+        HccModelType modelType;
+        try {
+            modelType = HccModelType.valueOf(String.valueOf(request.getModelType()));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown modelType: " + request.getModelType());
+        }
+        return HccRuleRejectionState.builder()
+                .patientId(request.getPatientId())
+                .ruleId(request.getRuleId())
+                .modelType(modelType)
+                .rejectedAt(request.getRejectedAt() != null ? request.getRejectedAt() : LocalDate.now())
+                .lastTriggeringConceptAlias(request.getLastTriggeringConceptAlias())
+                .build();
+    }
+}
@@ -1,6 +1,8 @@
 package com.algoaccel.hcc.service;
 
+import com.algoaccel.hcc.engine.RejectionSnapshot;
 import com.algoaccel.hcc.model.HccRuleRejectionState;
+import com.algoaccel.hcc.model.enums.HccModelType;
 import com.algoaccel.hcc.port.PatientDataPort;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -14,12 +16,17 @@ import java.util.Optional;
  * Resurfacing logic: After a clinician rejects a suspect condition, it stays suppressed
  * unless a *different* medication concept (not a new start date for the same medication)
  * appears within the measurement period.
+ *
+ * Rejection state comes from the rule's RejectionSnapshot when one is loaded, so patients who were
+ * never rejected skip the database entirely; otherwise it is looked up per patient. Either way,
+ * rejections recorded on this instance are seen before they are written.
  */
 @Service
 @RequiredArgsConstructor
 public class RejectionResurfacingService {
 
     private final PatientDataPort patientDataPort;
+    private final RejectionStateCache rejectionStateCache;
 
     /**
      * Determines if a suspect should surface based on rejection history and current evidence.
@@ -31,18 +38,33 @@ public class RejectionResurfacingService {
      * @return true if the suspect should surface, false if it should stay suppressed
      */
     public boolean shouldSurface(String patientId, Long ruleId, String modelType, List<String> currentConceptAliases) {
-        // Get rejection state for this patient/rule/model
-        Optional<HccRuleRejectionState> rejectionStateOpt =
-                patientDataPort.getRejectionState(patientId, ruleId, modelType);
+        Optional<RejectionSnapshot> snapshot = rejectionStateCache.find(ruleId);
+        if (snapshot.isPresent()) {
+            Optional<RejectionSnapshot.Rejection> rejection =
+                    snapshot.get().find(patientId, HccModelType.valueOf(modelType));
+
+            // Scenario (a): No prior rejection exists → surface
+            return rejection.isEmpty()
+                    || shouldResurface(rejection.get().lastTriggeringConceptAlias(), currentConceptAliases);
+        }
+
+        // Get rejection state for this patient/rule/model, including one recorded but not yet written
+        Optional<HccRuleRejectionState> rejectionStateOpt = rejectionStateCache
+                .unflushed(patientId, ruleId, HccModelType.valueOf(modelType))
+                .or(() -> patientDataPort.getRejectionState(patientId, ruleId, modelType));
 
         // Scenario (a): No prior rejection exists → surface
         if (rejectionStateOpt.isEmpty()) {
             return true;
         }
 
-        HccRuleRejectionState rejectionState = rejectionStateOpt.get();
-        String lastTriggeringConcept = rejectionState.getLastTriggeringConceptAlias();
+        return shouldResurface(rejectionStateOpt.get().getLastTriggeringConceptAlias(), currentConceptAliases);
+    }
 
+    /**
+     * Whether a rejected suspect resurfaces given the concept that triggered it before rejection.
+     */
+    private boolean shouldResurface(String lastTriggeringConcept, List<String> currentConceptAliases) {
         // If no current concepts, nothing to trigger resurfacing
         if (currentConceptAliases == null || currentConceptAliases.isEmpty()) {
             return false;
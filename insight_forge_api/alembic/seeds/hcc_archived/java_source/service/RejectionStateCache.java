@@ -0,0 +1,172 @@
+package com.algoaccel.hcc.service;
+
+import com.algoaccel.hcc.engine.RejectionSnapshot;
+import com.algoaccel.hcc.event.RejectionStateChangedEvent;
+import com.algoaccel.hcc.model.HccRuleRejectionState;
+import com.algoaccel.hcc.model.enums.HccModelType;
+import com.algoaccel.hcc.port.PatientDataPort;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * This instance's view of rejection state: per-rule RejectionSnapshots, so resurfacing checks do not
+ * query rejection state per fired patient, plus rejections recorded here but not yet written.
+ *
+ * A rule's snapshot is loaded with one set-based query (population runs load it at run start) and
+ * refreshed per patient as RejectionStateChangedEvents arrive after commit. Changes from other
+ * instances are not seen until the next load, so a snapshot is only kept while a run holds it and
+ * is dropped when the last holder releases it. Rules without a loaded snapshot use point lookups.
+ * Unflushed rejections are applied to loaded snapshots immediately and kept until markFlushed,
+ * so reads see them before RejectionRecordingService has written them.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RejectionStateCache {
+
+    private final PatientDataPort patientDataPort;
+
+    private final Map<Long, RejectionSnapshot> snapshots = new ConcurrentHashMap<>();
+    private final Map<Long, Integer> holders = new ConcurrentHashMap<>();
+    private final Map<Long, Queue<RejectionStateChangedEvent>> changesDuringLoad = new ConcurrentHashMap<>();
+    private final Map<Key, HccRuleRejectionState> unflushed = new ConcurrentHashMap<>();
+
+    /**
+     * Load (or reload) a rule's snapshot and hold it until a matching release.
+     */
+    public RejectionSnapshot load(Long ruleId) {
+        holders.merge(ruleId, 1, Integer::sum);
+        Queue<RejectionStateChangedEvent> changes = new ConcurrentLinkedQueue<>();
+        changesDuringLoad.put(ruleId, changes);
+        try {
+            RejectionSnapshot snapshot = RejectionSnapshot.of(ruleId, patientDataPort.getRejectionStates(ruleId));
+            snapshots.put(ruleId, snapshot);
+            log.debug("Loaded rejection snapshot for rule {} ({} patients)", ruleId, snapshot.size());
+            return snapshot;
+        } finally {
+            changesDuringLoad.remove(ruleId, changes);
+            // The load may have read before these changes committed, or before queued ones are written
+            for (RejectionStateChangedEvent change : changes) {
+                refresh(change);
+            }
+            for (HccRuleRejectionState state : unflushed.values()) {
+                if (ruleId.equals(state.getRuleId())) {
+                    apply(state);
+                }
+            }
+        }
+    }
+
+    /**
+     * The rule's snapshot, or empty when none is loaded.
+     */
+    public Optional<RejectionSnapshot> find(Long ruleId) {
+        return Optional.ofNullable(snapshots.get(ruleId));
+    }
+
+    /**
+     * Release a hold taken by load; the snapshot is dropped when no holder is left.
+     */
+    public void release(Long ruleId) {
+        holders.computeIfPresent(ruleId, (id, count) -> {
+            if (count > 1) {
+                return count - 1;
+            }
+            snapshots.remove(id);
+            return null;
+        });
+    }
+
+    /**
+     * Make a rejection visible before it is written; replaces any unflushed one for the same
+     * patient, rule and model.
+     */
+    public void record(HccRuleRejectionState state) {
+        unflushed.put(Key.of(state), state);
+        apply(state);
+    }
+
+    /**
+     * A recorded rejection that is not written yet.
+     */
+    public Optional<HccRuleRejectionState> unflushed(String patientId, Long ruleId, HccModelType modelType) {
+        return Optional.ofNullable(unflushed.get(new Key(patientId, ruleId, modelType)));
+    }
+
+    /**
+     * All unflushed rejections, one per patient, rule and model.
+     */
+    public Collection<HccRuleRejectionState> unflushed() {
+        return Collections.unmodifiableCollection(unflushed.values());
+    }
+
+    public int unflushedCount() {
+        return unflushed.size();
+    }
+
+    /**
+     * The rejection was written; forget it unless it was replaced by a newer one meanwhile.
+     */
+    public void markFlushed(HccRuleRejectionState state) {
+        unflushed.remove(Key.of(state), state);
+    }
+
+    /**
+     * Runs before other listeners (e.g. incremental re-evaluation) so they read the new state.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onRejectionStateChanged(RejectionStateChangedEvent event) {
+        Queue<RejectionStateChangedEvent> changes = changesDuringLoad.get(event.ruleId());
+        if (changes != null) {
+            changes.add(event);
+        }
+        refresh(event);
+    }
+
+    private void refresh(RejectionStateChangedEvent event) {
+        RejectionSnapshot snapshot = snapshots.get(event.ruleId());
+        if (snapshot == null) {
+            return;
+        }
+        HccRuleRejectionState pending = unflushed.get(new Key(event.patientId(), event.ruleId(), event.modelType()));
+        if (pending != null) {
+            // A newer rejection is queued; it already is in the snapshot
+            return;
+        }
+        if (event.state() != null) {
+            apply(event.state());
+            return;
+        }
+        patientDataPort.getRejectionState(event.patientId(), event.ruleId(), event.modelType().name())
+                .ifPresentOrElse(
+                        this::apply,
+                        () -> snapshot.remove(event.patientId(), event.modelType()));
+    }
+
+    private void apply(HccRuleRejectionState state) {
+        RejectionSnapshot snapshot = snapshots.get(state.getRuleId());
+        if (snapshot != null) {
+            snapshot.put(state.getPatientId(), state.getModelType(), state.getLastTriggeringConceptAlias());
+        }
+    }
+
+    private record Key(String patientId, Long ruleId, HccModelType modelType) {
+
+        static Key of(HccRuleRejectionState state) {
+            return new Key(state.getPatientId(), state.getRuleId(), state.getModelType());
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.algoaccel.hcc.service;
+
+/**
+ * Thrown when a rule id does not exist. Controllers map it to 404 and other
+ * IllegalArgumentExceptions to 400.
+ */
+public class RuleNotFoundException extends IllegalArgumentException {
+
+    public RuleNotFoundException(Long ruleId) {
+        super("Rule not found with id: " + ruleId);
+    }
+}
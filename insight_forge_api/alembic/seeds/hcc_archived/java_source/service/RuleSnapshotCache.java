@@ -0,0 +1,196 @@
+package com.algoaccel.hcc.service;
+
+import com.algoaccel.hcc.config.HccRuleSnapshotProperties;
+import com.algoaccel.hcc.dto.RuleSnapshotFingerprint;
+import com.algoaccel.hcc.engine.CompiledRule;
+import com.algoaccel.hcc.event.RuleChangedEvent;
+import com.algoaccel.hcc.model.HccClientConfig;
+import com.algoaccel.hcc.model.HccSuspectRule;
+import com.algoaccel.hcc.model.enums.HccRuleStatus;
+import com.algoaccel.hcc.repository.HccSuspectRuleRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Immutable snapshot of every PUBLISHED rule, compiled canonically and for each client with a config.
+ *
+ * Evaluation reads the current snapshot through an AtomicReference, without locks or database access.
+ * A RuleChangedEvent reloads that rule after commit; a scheduled check compares the fingerprints of
+ * published rules and their children with the snapshot and reloads everything when they differ
+ * (changes from other instances). Full and single-rule reloads are serialized, so each reads the
+ * database after the previous one swapped its snapshot in and an older read never replaces a newer one.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RuleSnapshotCache {
+
+    private final HccSuspectRuleRepository ruleRepository;
+    private final HccRuleService hccRuleService;
+    private final EffectiveRuleCache effectiveRuleCache;
+    private final TransactionTemplate transactionTemplate;
+    private final HccRuleSnapshotProperties properties;
+
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+    private final Object reloadLock = new Object();
+
+    /**
+     * The compiled effective rule from the snapshot, or empty when the rule is not PUBLISHED
+     * (or the snapshot is disabled) and must be loaded from the database.
+     */
+    public Optional<CompiledRule> find(Long ruleId, String clientId) {
+        if (!properties.isEnabled()) {
+            return Optional.empty();
+        }
+        PublishedRule rule = current().rules().get(ruleId);
+        return rule != null ? Optional.of(rule.forClient(clientId)) : Optional.empty();
+    }
+
+    /**
+     * Every PUBLISHED rule compiled for a client, in rule id order.
+     */
+    public List<CompiledRule> published(String clientId) {
+        Collection<PublishedRule> rules = current().rules().values();
+        List<CompiledRule> compiled = new ArrayList<>(rules.size());
+        for (PublishedRule rule : rules) {
+            compiled.add(rule.forClient(clientId));
+        }
+        return compiled;
+    }
+
+    public boolean enabled() {
+        return properties.isEnabled();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        if (properties.isEnabled()) {
+            reload();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRuleChanged(RuleChangedEvent event) {
+        if (!properties.isEnabled() || snapshot.get() == null) {
+            return;
+        }
+        // Listener order is unspecified; make sure the rule is not recompiled from stale cache entries
+        effectiveRuleCache.evict(event.ruleId());
+        synchronized (reloadLock) {
+            PublishedRule reloaded = transactionTemplate.execute(status -> {
+                // Fingerprint first: a change committed in between only makes the next check reload again
+                List<RuleSnapshotFingerprint> fingerprint =
+                        ruleRepository.findSnapshotFingerprints(HccRuleStatus.PUBLISHED, event.ruleId());
+                if (fingerprint.isEmpty()) {
+                    return null;
+                }
+                return hccRuleService.getRuleWithTiers(event.ruleId())
+                        .filter(rule -> rule.getStatus() == HccRuleStatus.PUBLISHED)
+                        .map(rule -> compile(rule, fingerprint.get(0)))
+                        .orElse(null);
+            });
+
+            Map<Long, PublishedRule> rules = new TreeMap<>(snapshot.get().rules());
+            if (reloaded != null) {
+                rules.put(event.ruleId(), reloaded);
+            } else {
+                rules.remove(event.ruleId());
+            }
+            snapshot.set(new Snapshot(Collections.unmodifiableMap(rules)));
+        }
+    }
+
+    /**
+     * Reload when the PUBLISHED rules, their versions or their children no longer match the snapshot.
+     */
+    @Scheduled(fixedDelayString = "${hcc.rule-snapshot.refresh-interval:PT30S}",
+            initialDelayString = "${hcc.rule-snapshot.refresh-interval:PT30S}")
+    public void checkVersions() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        Map<Long, RuleSnapshotFingerprint> fingerprints = fingerprints();
+        Snapshot current = snapshot.get();
+        if (current == null || !current.fingerprints().equals(fingerprints)) {
+            log.info("Published rules changed ({} rules); reloading rule snapshot", fingerprints.size());
+            reload();
+        }
+    }
+
+    /**
+     * Rebuild the snapshot from the database.
+     */
+    public void reload() {
+        synchronized (reloadLock) {
+            Map<Long, PublishedRule> rules = transactionTemplate.execute(status -> {
+                // Fingerprints first: a change committed in between only makes the next check reload again
+                Map<Long, RuleSnapshotFingerprint> fingerprints = fingerprints();
+                Map<Long, PublishedRule> loaded = new TreeMap<>();
+                for (HccSuspectRule rule : hccRuleService.findByStatusWithTiers(HccRuleStatus.PUBLISHED)) {
+                    loaded.put(rule.getId(), compile(rule, fingerprints.get(rule.getId())));
+                }
+                return loaded;
+            });
+            snapshot.set(new Snapshot(Collections.unmodifiableMap(rules)));
+        }
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot.get();
+        if (current == null) {
+            synchronized (reloadLock) {
+                // Callers racing on the first load wait for it instead of starting their own
+                if (snapshot.get() == null) {
+                    reload();
+                }
+            }
+            current = snapshot.get();
+        }
+        return current;
+    }
+
+    private Map<Long, RuleSnapshotFingerprint> fingerprints() {
+        Map<Long, RuleSnapshotFingerprint> fingerprints = new TreeMap<>();
+        for (RuleSnapshotFingerprint fingerprint : ruleRepository.findSnapshotFingerprints(HccRuleStatus.PUBLISHED, null)) {
+            fingerprints.put(fingerprint.ruleId(), fingerprint);
+        }
+        return fingerprints;
+    }
+
+    private PublishedRule compile(HccSuspectRule rule, RuleSnapshotFingerprint fingerprint) {
+        Map<String, CompiledRule> byClient = new HashMap<>();
+        for (HccClientConfig config : rule.getClientConfigs()) {
+            byClient.put(config.getClientId(), effectiveRuleCache.get(rule, config.getClientId()));
+        }
+        return new PublishedRule(effectiveRuleCache.get(rule, null), Map.copyOf(byClient), fingerprint);
+    }
+
+    private record PublishedRule(
+            CompiledRule canonical, Map<String, CompiledRule> byClient, RuleSnapshotFingerprint fingerprint) {
+
+        CompiledRule forClient(String clientId) {
+            if (clientId == null || clientId.isEmpty()) {
+                return canonical;
+            }
+            return byClient.getOrDefault(clientId, canonical);
+        }
+    }
+
+    private record Snapshot(Map<Long, PublishedRule> rules) {
+
+        Map<Long, RuleSnapshotFingerprint> fingerprints() {
+            Map<Long, RuleSnapshotFingerprint> fingerprints = new TreeMap<>();
+            rules.forEach((ruleId, rule) -> fingerprints.put(ruleId, rule.fingerprint()));
+            return fingerprints;
+        }
+    }
+}
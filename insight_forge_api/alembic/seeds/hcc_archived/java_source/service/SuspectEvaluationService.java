@@ -1,15 +1,29 @@
 package com.algoaccel.hcc.service;
 
 import com.algoaccel.hcc.dto.*;
-import com.algoaccel.hcc.model.HccSuppressionConfig;
-import com.algoaccel.hcc.model.HccSuspectRule;
-import com.algoaccel.hcc.model.StratificationTier;
+import com.algoaccel.hcc.engine.CompiledBranch;
+import com.algoaccel.hcc.engine.CompiledCriterion;
+import com.algoaccel.hcc.engine.CompiledRule;
+import com.algoaccel.hcc.engine.CompiledRuleSet;
+import com.algoaccel.hcc.engine.CompiledSuppression;
+import com.algoaccel.hcc.engine.CompiledTier;
+import com.algoaccel.hcc.engine.DiagnosisIndex;
+import com.algoaccel.hcc.engine.EvaluationMetrics;
+import com.algoaccel.hcc.engine.EvaluationTrace;
+import com.algoaccel.hcc.engine.EvidenceLoader;
+import com.algoaccel.hcc.engine.LabSeries;
+import com.algoaccel.hcc.engine.PatientEvidence;
+import com.algoaccel.hcc.engine.SuppressionIndex;
+import com.algoaccel.hcc.engine.TemporalConstraint;
+import com.algoaccel.hcc.model.enums.BranchLogic;
+import com.algoaccel.hcc.model.enums.CombinationType;
 import com.algoaccel.hcc.model.enums.HccModelType;
-import com.algoaccel.hcc.model.enums.TierType;
+import com.algoaccel.hcc.model.enums.HccRuleStatus;
+import com.algoaccel.hcc.model.enums.QualifierType;
+import com.algoaccel.hcc.model.enums.ResultSelector;
 import com.algoaccel.hcc.port.PatientDataPort;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.algoaccel.hcc.port.PortCallScope;
+import com.algoaccel.hcc.port.QueryBudgetExceededException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -17,68 +31,187 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.time.temporal.ChronoUnit;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Service for evaluating HCC suspect rules against patient data.
  * Supports temporal logic patterns for CKD and similar rules.
+ * Rule, model, tier, branch and criterion timings and outcomes are recorded in EvaluationMetrics.
  */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class SuspectEvaluationService {
 
+    /**
+     * Marks an empty capture slot; captures are stored as epoch days.
+     */
+    private static final int NO_CAPTURE = Integer.MIN_VALUE;
+
     private final HccRuleService hccRuleService;
     private final RejectionResurfacingService rejectionResurfacingService;
     private final PatientDataPort patientDataPort;
-    private final ObjectMapper objectMapper;
+    private final EffectiveRuleCache effectiveRuleCache;
+    private final RuleSnapshotCache ruleSnapshotCache;
+    private final EvidenceLoader evidenceLoader;
+    private final EvaluationMetrics evaluationMetrics;
 
     /**
      * Evaluate a patient against an HCC suspecting rule.
      */
     @Transactional(readOnly = true)
     public SuspectEvaluationResult evaluate(String patientId, Long ruleId, String clientId) {
-        HccSuspectRule rule;
-        if (clientId != null && !clientId.isEmpty()) {
-            rule = hccRuleService.applyClientConfig(ruleId, clientId);
-        } else {
-            rule = hccRuleService.getRuleWithTiers(ruleId)
-                    .orElseThrow(() -> new IllegalArgumentException("Rule not found: " + ruleId));
-        }
+        return evaluate(patientId, ruleId, clientId, null);
+    }
+
+    /**
+     * Evaluate a patient against an HCC suspecting rule and return the timing tree with the result.
+     */
+    @Transactional(readOnly = true)
+    public TracedEvaluationResult evaluateTraced(String patientId, Long ruleId, String clientId) {
+        EvaluationTrace trace = new EvaluationTrace();
+        SuspectEvaluationResult result = evaluate(patientId, ruleId, clientId, trace);
+        return TracedEvaluationResult.builder()
+                .result(result)
+                .trace(trace.toNode())
+                .build();
+    }
+
+    private SuspectEvaluationResult evaluate(String patientId, Long ruleId, String clientId, EvaluationTrace trace) {
+        CompiledRule compiledRule = loadCompiledRule(ruleId, clientId);
 
         LocalDate windowEnd = LocalDate.now();
-        LocalDate windowStart = windowEnd.minusYears(rule.getLookbackYears());
+        PatientEvidence evidence = evidenceLoader.lazy(patientId, compiledRule.windowStart(windowEnd), windowEnd);
+
+        return evaluate(patientId, compiledRule, evidence, windowEnd, null, trace);
+    }
+
+    /**
+     * Evaluate a patient against every PUBLISHED rule in one pass.
+     * Rules are loaded in one transaction and the patient's evidence is loaded once for all of them.
+     */
+    @Transactional(readOnly = true)
+    public List<SuspectEvaluationResult> evaluatePublishedRules(String patientId, String clientId) {
+        return evaluateRules(patientId, CompiledRuleSet.of(compilePublishedRules(clientId), LocalDate.now()));
+    }
+
+    /**
+     * Every PUBLISHED rule compiled, with client overrides when a clientId is given.
+     * Served from the rule snapshot unless it is disabled.
+     */
+    public List<CompiledRule> compilePublishedRules(String clientId) {
+        if (ruleSnapshotCache.enabled()) {
+            return ruleSnapshotCache.published(clientId);
+        }
+        return hccRuleService.findByStatusWithTiers(HccRuleStatus.PUBLISHED).stream()
+                .map(rule -> effectiveRuleCache.get(rule, clientId))
+                .toList();
+    }
+
+    /**
+     * Evaluate a patient against a set of compiled rules with a single evidence load.
+     * A whole rule set reads most of its footprint, so evidence is prefetched rather than fetched lazily.
+     */
+    public List<SuspectEvaluationResult> evaluateRules(String patientId, CompiledRuleSet ruleSet) {
+        PatientEvidence evidence = evidenceLoader.load(
+                patientId, ruleSet.footprint(), ruleSet.windowStart(), ruleSet.windowEnd());
+
+        List<SuspectEvaluationResult> results = new ArrayList<>(ruleSet.rules().size());
+        for (CompiledRule rule : ruleSet.rules()) {
+            results.add(evaluate(patientId, rule, evidence, ruleSet.windowEnd()));
+        }
+        return results;
+    }
+
+    /**
+     * The compiled rule with client overrides applied when a clientId is given.
+     * PUBLISHED rules come from the rule snapshot; others from the effective rule cache.
+     */
+    public CompiledRule loadCompiledRule(Long ruleId, String clientId) {
+        return ruleSnapshotCache.find(ruleId, clientId)
+                .orElseGet(() -> effectiveRuleCache.get(ruleId, clientId));
+    }
+
+    /**
+     * Evaluate a patient against a compiled rule using already loaded evidence.
+     * The evidence must cover the rule's footprint and lookback window ending at windowEnd.
+     * Port calls made meanwhile on this thread are attributed to (and budgeted against) this evaluation.
+     */
+    public SuspectEvaluationResult evaluate(
+            String patientId, CompiledRule rule, PatientEvidence evidence, LocalDate windowEnd) {
+        return evaluate(patientId, rule, evidence, windowEnd, null, null);
+    }
+
+    /**
+     * As above, with suppression statuses answered from a per-run SuppressionIndex instead of
+     * one port lookup per patient and model (target HCCs the index does not cover still use the port).
+     */
+    public SuspectEvaluationResult evaluate(
+            String patientId, CompiledRule rule, PatientEvidence evidence, LocalDate windowEnd,
+            SuppressionIndex suppressions) {
+        return evaluate(patientId, rule, evidence, windowEnd, suppressions, null);
+    }
+
+    private SuspectEvaluationResult evaluate(
+            String patientId, CompiledRule rule, PatientEvidence evidence, LocalDate windowEnd,
+            SuppressionIndex suppressions, EvaluationTrace trace) {
+
+        try (PortCallScope portCalls = PortCallScope.open(patientId, rule.ruleId())) {
+            if (trace != null) {
+                trace.enter("RULE", "rule " + rule.ruleId() + " (" + rule.name() + ")");
+            }
+            SuspectEvaluationResult result = evaluateInScope(patientId, rule, evidence, windowEnd, suppressions, trace);
+            if (trace != null) {
+                trace.exit(null, 0);
+            }
+            if (portCalls.outermost()) {
+                evaluationMetrics.forRule(rule.ruleId()).recordPortCalls(portCalls.totalCalls());
+            }
+            return result;
+        }
+    }
+
+    private SuspectEvaluationResult evaluateInScope(
+            String patientId, CompiledRule rule, PatientEvidence evidence, LocalDate windowEnd,
+            SuppressionIndex suppressions, EvaluationTrace trace) {
+
+        long start = System.nanoTime();
+        EvaluationMetrics.RuleMeters meters = evaluationMetrics.forRule(rule.ruleId());
+        LocalDate windowStart = rule.windowStart(windowEnd);
 
         List<SupportingFact> allSupportingFacts = new ArrayList<>();
         List<String> conceptAliasesTriggered = new ArrayList<>();
         Map<String, ModelEvaluationResult> modelResults = new HashMap<>();
 
-        if (Boolean.TRUE.equals(rule.getCmsEnabled())) {
-            ModelEvaluationResult cmsResult = evaluateForModel(
-                    patientId, rule, HccModelType.CMS, windowStart, windowEnd, allSupportingFacts, conceptAliasesTriggered);
-            modelResults.put("CMS", cmsResult);
-        }
+        // Tiers and criteria are the same for every model; only suppression, resurfacing and diagnoses
+        // differ, so each tier without DIAGNOSIS criteria is evaluated at most once per patient and
+        // shared across models
+        Map<CompiledTier, TierEvaluationResult> tierResults = new IdentityHashMap<>();
 
-        if (Boolean.TRUE.equals(rule.getHhsEnabled())) {
-            ModelEvaluationResult hhsResult = evaluateForModel(
-                    patientId, rule, HccModelType.HHS, windowStart, windowEnd, allSupportingFacts, conceptAliasesTriggered);
-            modelResults.put("HHS", hhsResult);
+        for (HccModelType modelType : rule.enabledModels()) {
+            long modelStart = System.nanoTime();
+            if (trace != null) {
+                trace.enter("MODEL", modelType.name());
+            }
+            ModelEvaluationResult modelResult = evaluateForModel(
+                    patientId, rule, modelType, evidence, suppressions, tierResults, new IdentityHashMap<>(),
+                    windowStart, windowEnd, allSupportingFacts, conceptAliasesTriggered, meters, trace);
+            meters.modelTimer(modelType).record(System.nanoTime() - modelStart, TimeUnit.NANOSECONDS);
+            if (trace != null) {
+                trace.exit(!modelResult.isSuppressed() && !"NOT_SUSPECTED".equals(modelResult.getStratification()), 0);
+            }
+            modelResults.put(modelType.name(), modelResult);
         }
 
-        if (Boolean.TRUE.equals(rule.getEsrdEnabled())) {
-            ModelEvaluationResult esrdResult = evaluateForModel(
-                    patientId, rule, HccModelType.ESRD, windowStart, windowEnd, allSupportingFacts, conceptAliasesTriggered);
-            modelResults.put("ESRD", esrdResult);
-        }
+        meters.ruleTimer().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
 
         return SuspectEvaluationResult.builder()
                 .patientId(patientId)
-                .ruleId(rule.getId())
-                .ruleName(rule.getName())
-                .hccCategory(rule.getHccCategory())
-                .conditionName(rule.getConditionName())
+                .ruleId(rule.ruleId())
+                .ruleName(rule.name())
+                .hccCategory(rule.hccCategory())
+                .conditionName(rule.conditionName())
                 .modelResults(modelResults)
                 .supportingFacts(allSupportingFacts)
                 .competingFacts(Collections.emptyList())
@@ -87,28 +220,31 @@ public class SuspectEvaluationService {
 
     private ModelEvaluationResult evaluateForModel(
             String patientId,
-            HccSuspectRule rule,
+            CompiledRule rule,
             HccModelType modelType,
+            PatientEvidence evidence,
+            SuppressionIndex suppressions,
+            Map<CompiledTier, TierEvaluationResult> tierResults,
+            Map<CompiledTier, TierEvaluationResult> modelTierResults,
             LocalDate windowStart,
             LocalDate windowEnd,
             List<SupportingFact> allSupportingFacts,
-            List<String> conceptAliasesTriggered) {
+            List<String> conceptAliasesTriggered,
+            EvaluationMetrics.RuleMeters meters,
+            EvaluationTrace trace) {
 
-        HccSuppressionConfig suppressionConfig = rule.getSuppressionConfigs().stream()
-                .filter(c -> c.getModelType() == modelType)
-                .findFirst()
-                .orElse(null);
+        CompiledSuppression suppressionConfig = rule.suppressionFor(modelType);
 
         if (suppressionConfig != null) {
-            Optional<HccSuppressionStatusDto> suppressionStatus =
-                    patientDataPort.getSuppressionStatus(patientId, suppressionConfig.getTargetHcc(), modelType.name());
+            Optional<String> suppressionStatus = suppressionStatus(patientId, suppressionConfig, suppressions);
 
-            if (suppressionStatus.isPresent() && suppressionStatus.get().isSuppressed()) {
+            if (suppressionStatus.isPresent() && suppressionConfig.suppresses(suppressionStatus.get())) {
+                meters.outcome(modelType, EvaluationMetrics.Outcome.SUPPRESSED);
                 return ModelEvaluationResult.builder()
                         .modelType(modelType)
                         .stratification("NOT_SUSPECTED")
                         .suppressed(true)
-                        .suppressionReason("Patient has validated " + suppressionConfig.getTargetHcc())
+                        .suppressionReason("Patient has validated " + suppressionConfig.targetHcc())
                         .supportingFacts(Collections.emptyList())
                         .firedBranchIds(Collections.emptyList())
                         .build();
@@ -119,12 +255,10 @@ public class SuspectEvaluationService {
         List<String> firedBranchIds = new ArrayList<>();
         String stratification = "NOT_SUSPECTED";
 
-        Optional<StratificationTier> hsTier = rule.getTiers().stream()
-                .filter(t -> t.getTierType() == TierType.HIGHLY_SUSPECTED)
-                .findFirst();
-
-        if (hsTier.isPresent()) {
-            TierEvaluationResult hsResult = evaluateTier(patientId, hsTier.get(), windowStart, windowEnd);
+        if (rule.highlySuspected() != null) {
+            TierEvaluationResult hsResult = tierResult(
+                    rule.highlySuspected(), modelType, tierResults, modelTierResults,
+                    evidence, windowStart, windowEnd, meters, trace);
             if (hsResult.fired) {
                 stratification = "HIGHLY_SUSPECTED";
                 modelSupportingFacts.addAll(hsResult.supportingFacts);
@@ -133,29 +267,26 @@ public class SuspectEvaluationService {
             }
         }
 
-        if ("NOT_SUSPECTED".equals(stratification)) {
-            Optional<StratificationTier> msTier = rule.getTiers().stream()
-                    .filter(t -> t.getTierType() == TierType.MODERATELY_SUSPECTED)
-                    .findFirst();
-
-            if (msTier.isPresent()) {
-                TierEvaluationResult msResult = evaluateTier(patientId, msTier.get(), windowStart, windowEnd);
-                if (msResult.fired) {
-                    stratification = "MODERATELY_SUSPECTED";
-                    modelSupportingFacts.addAll(msResult.supportingFacts);
-                    firedBranchIds.addAll(msResult.firedBranchIds);
-                    conceptAliasesTriggered.addAll(msResult.conceptAliasesTriggered);
-                }
+        if ("NOT_SUSPECTED".equals(stratification) && rule.moderatelySuspected() != null) {
+            TierEvaluationResult msResult = tierResult(
+                    rule.moderatelySuspected(), modelType, tierResults, modelTierResults,
+                    evidence, windowStart, windowEnd, meters, trace);
+            if (msResult.fired) {
+                stratification = "MODERATELY_SUSPECTED";
+                modelSupportingFacts.addAll(msResult.supportingFacts);
+                firedBranchIds.addAll(msResult.firedBranchIds);
+                conceptAliasesTriggered.addAll(msResult.conceptAliasesTriggered);
             }
         }
 
         if (!"NOT_SUSPECTED".equals(stratification) && suppressionConfig != null &&
-                Boolean.TRUE.equals(suppressionConfig.getResurfacingEnabled())) {
+                suppressionConfig.resurfacingEnabled()) {
 
             boolean shouldSurface = rejectionResurfacingService.shouldSurface(
-                    patientId, rule.getId(), modelType.name(), conceptAliasesTriggered);
+                    patientId, rule.ruleId(), modelType.name(), conceptAliasesTriggered);
 
             if (!shouldSurface) {
+                meters.outcome(modelType, EvaluationMetrics.Outcome.REJECTED);
                 return ModelEvaluationResult.builder()
                         .modelType(modelType)
                         .stratification("NOT_SUSPECTED")
@@ -165,8 +296,10 @@ public class SuspectEvaluationService {
                         .firedBranchIds(Collections.emptyList())
                         .build();
             }
+            meters.outcome(modelType, EvaluationMetrics.Outcome.RESURFACED);
         }
 
+        meters.outcome(modelType, EvaluationMetrics.Outcome.valueOf(stratification));
         allSupportingFacts.addAll(modelSupportingFacts);
 
         return ModelEvaluationResult.builder()
@@ -178,378 +311,455 @@ public class SuspectEvaluationService {
                 .build();
     }
 
+    /**
+     * The patient's status for a suppression config's target HCC and model, from the index when it
+     * covers the target HCC and from the port otherwise.
+     */
+    private Optional<String> suppressionStatus(
+            String patientId, CompiledSuppression suppressionConfig, SuppressionIndex suppressions) {
+        if (suppressions != null && suppressions.covers(suppressionConfig.targetHcc())) {
+            return suppressions.status(patientId, suppressionConfig.targetHcc(), suppressionConfig.modelType());
+        }
+        return patientDataPort.getSuppressionStatus(
+                        patientId, suppressionConfig.targetHcc(), suppressionConfig.modelType().name())
+                .map(HccSuppressionStatusDto::getStatus);
+    }
+
+    /**
+     * Tier result from the per-patient memo, evaluating the tier on first use.
+     * Tiers with DIAGNOSIS criteria are memoized per model, since each model has its own diagnoses.
+     */
+    private TierEvaluationResult tierResult(
+            CompiledTier tier,
+            HccModelType modelType,
+            Map<CompiledTier, TierEvaluationResult> sharedTierResults,
+            Map<CompiledTier, TierEvaluationResult> modelTierResults,
+            PatientEvidence evidence,
+            LocalDate windowStart,
+            LocalDate windowEnd,
+            EvaluationMetrics.RuleMeters meters,
+            EvaluationTrace trace) {
+
+        Map<CompiledTier, TierEvaluationResult> tierResults =
+                tier.readsDiagnoses() ? modelTierResults : sharedTierResults;
+        TierEvaluationResult result = tierResults.get(tier);
+        if (result != null) {
+            if (trace != null) {
+                trace.cacheHit("TIER", String.valueOf(tier.tierType()), result.fired);
+            }
+            return result;
+        }
+        if (trace != null) {
+            trace.enter("TIER", String.valueOf(tier.tierType()));
+        }
+        result = evaluateTier(tier, modelType, evidence, windowStart, windowEnd, meters, trace);
+        if (trace != null) {
+            trace.exit(result.fired, 0);
+        }
+        tierResults.put(tier, result);
+        return result;
+    }
+
     private TierEvaluationResult evaluateTier(
-            String patientId,
-            StratificationTier tier,
+            CompiledTier tier,
+            HccModelType modelType,
+            PatientEvidence evidence,
             LocalDate windowStart,
-            LocalDate windowEnd) {
+            LocalDate windowEnd,
+            EvaluationMetrics.RuleMeters meters,
+            EvaluationTrace trace) {
 
         TierEvaluationResult result = new TierEvaluationResult();
         result.supportingFacts = new ArrayList<>();
         result.firedBranchIds = new ArrayList<>();
         result.conceptAliasesTriggered = new ArrayList<>();
 
-        if (tier.getCriteriaJson() == null || tier.getCriteriaJson().isEmpty()) {
+        if (!tier.evaluable()) {
             return result;
         }
 
+        long start = System.nanoTime();
+        EvaluationMetrics.TierMeters tierMeters = meters.tier(tier.tierType());
+        int traceDepth = trace != null ? trace.depth() : 0;
         try {
-            List<JsonNode> branches = objectMapper.readValue(
-                    tier.getCriteriaJson(), new TypeReference<List<JsonNode>>() {});
-
             int branchesFired = 0;
 
-            for (JsonNode branch : branches) {
-                String branchId = branch.has("branchId") ? branch.get("branchId").asText() : UUID.randomUUID().toString();
-                String logic = branch.has("logic") ? branch.get("logic").asText() : "AND";
-                JsonNode criteria = branch.get("criteria");
-
-                if (criteria == null || !criteria.isArray()) {
-                    continue;
+            for (CompiledBranch branch : tier.branches()) {
+                long branchStart = System.nanoTime();
+                if (trace != null) {
+                    trace.enter("BRANCH", branch.branchId());
                 }
-
                 BranchEvaluationResult branchResult = evaluateBranchWithTemporalLogic(
-                        patientId, branchId, logic, criteria, windowStart, windowEnd);
+                        branch, modelType, evidence, windowStart, windowEnd, tierMeters, trace);
+                tierMeters.branch(branch.branchId()).record(System.nanoTime() - branchStart, branchResult.fired);
+                if (trace != null) {
+                    trace.exit(branchResult.fired, 0);
+                }
 
                 if (branchResult.fired) {
                     branchesFired++;
-                    result.firedBranchIds.add(branchId);
+                    result.firedBranchIds.add(branch.branchId());
                     result.supportingFacts.addAll(branchResult.supportingFacts);
                     result.conceptAliasesTriggered.addAll(branchResult.conceptAliasesTriggered);
                 }
             }
 
-            result.fired = branchesFired >= tier.getMinimumBranchesRequired();
+            result.fired = branchesFired >= tier.minimumBranchesRequired();
 
+        } catch (QueryBudgetExceededException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Error evaluating tier criteria: {}", e.getMessage(), e);
+            if (trace != null) {
+                trace.unwind(traceDepth);
+            }
         }
+        tierMeters.recordTier(System.nanoTime() - start, result.fired);
 
         return result;
     }
 
     /**
      * Evaluates a branch with support for temporal constraints between criteria.
-     * Two-pass evaluation:
+     * Sequential branches are evaluated in one ordered, short-circuiting pass;
+     * other branches fall back to two-pass evaluation.
+     */
+    private BranchEvaluationResult evaluateBranchWithTemporalLogic(
+            CompiledBranch branch,
+            HccModelType modelType,
+            PatientEvidence evidence,
+            LocalDate windowStart,
+            LocalDate windowEnd,
+            EvaluationMetrics.TierMeters tierMeters,
+            EvaluationTrace trace) {
+
+        if (branch.sequential()) {
+            return evaluateBranchSequentially(branch, modelType, evidence, windowStart, windowEnd, tierMeters, trace);
+        }
+        return evaluateBranchTwoPass(branch, modelType, evidence, windowStart, windowEnd, tierMeters, trace);
+    }
+
+    /**
+     * Single ordered pass: each criterion is evaluated, temporally constrained and negated before the next.
+     * Every capture a constraint reads was written by an earlier criterion, so the outcome matches two-pass
+     * evaluation. Stops an AND branch at the first failing criterion (its facts are discarded anyway).
+     * Once an OR branch has fired, only criteria that can still add supporting facts or feed a later
+     * temporal constraint are evaluated; the rest are skipped. Evidence is only fetched for criteria reached.
+     */
+    private BranchEvaluationResult evaluateBranchSequentially(
+            CompiledBranch branch,
+            HccModelType modelType,
+            PatientEvidence evidence,
+            LocalDate windowStart,
+            LocalDate windowEnd,
+            EvaluationMetrics.TierMeters tierMeters,
+            EvaluationTrace trace) {
+
+        BranchEvaluationResult result = new BranchEvaluationResult();
+        result.supportingFacts = new ArrayList<>();
+        result.conceptAliasesTriggered = new ArrayList<>();
+
+        int[] capturedDays = newCaptureSlots(branch);
+        boolean and = branch.logic() == BranchLogic.AND;
+        boolean fired = and && !branch.criteria().isEmpty();
+
+        for (CompiledCriterion criterion : branch.criteria()) {
+            if (!and && fired && criterion.negate() && !criterion.captureReferenced()) {
+                continue;
+            }
+
+            CriterionEvaluationResultWithCapture evalResult = evaluateCriterionWithCapture(
+                    criterion, modelType, evidence, windowStart, windowEnd, tierMeters, trace);
+
+            if (criterion.captureSlot() >= 0 && evalResult.capturedDay != NO_CAPTURE) {
+                capturedDays[criterion.captureSlot()] = evalResult.capturedDay;
+            }
+
+            if (criterion.temporalConstraint() != null && evalResult.matched) {
+                if (!applyTemporalConstraint(criterion, evalResult, capturedDays)) {
+                    evalResult.matched = false;
+                    evalResult.supportingFacts.clear();
+                } else if (criterion.captureSlot() >= 0 && evalResult.capturedDay != NO_CAPTURE) {
+                    capturedDays[criterion.captureSlot()] = evalResult.capturedDay;
+                }
+            }
+
+            boolean finalResult = criterion.negate() ? !evalResult.matched : evalResult.matched;
+            if (finalResult && !criterion.negate()) {
+                collectEvidence(evalResult, result.supportingFacts, result.conceptAliasesTriggered);
+            }
+
+            if (and && !finalResult) {
+                fired = false;
+                break;
+            }
+            fired |= finalResult;
+        }
+
+        result.fired = fired;
+        return result;
+    }
+
+    /**
+     * Two-pass evaluation for branches whose temporal constraints reference later captures:
      * 1. Evaluate each criterion and capture results
      * 2. Apply temporal constraints using captured results
      */
-    private BranchEvaluationResult evaluateBranchWithTemporalLogic(
-            String patientId,
-            String branchId,
-            String logic,
-            JsonNode criteria,
+    private BranchEvaluationResult evaluateBranchTwoPass(
+            CompiledBranch branch,
+            HccModelType modelType,
+            PatientEvidence evidence,
             LocalDate windowStart,
-            LocalDate windowEnd) {
+            LocalDate windowEnd,
+            EvaluationMetrics.TierMeters tierMeters,
+            EvaluationTrace trace) {
 
         BranchEvaluationResult result = new BranchEvaluationResult();
         result.supportingFacts = new ArrayList<>();
         result.conceptAliasesTriggered = new ArrayList<>();
 
-        // Map to store captured results by their captureAs name
-        Map<String, CapturedResult> capturedResults = new HashMap<>();
+        // Captured epoch days indexed by the capture slot assigned at compile time
+        int[] capturedDays = newCaptureSlots(branch);
 
         // First pass: evaluate criteria and capture results
-        List<CriterionEvaluationContext> contexts = new ArrayList<>();
-        for (JsonNode criterion : criteria) {
-            CriterionEvaluationContext ctx = new CriterionEvaluationContext();
-            ctx.criterion = criterion;
-            ctx.negate = criterion.has("negate") && criterion.get("negate").asBoolean();
-            ctx.captureAs = criterion.has("captureAs") ? criterion.get("captureAs").asText() : null;
-            ctx.hasTemporalConstraint = criterion.has("temporalConstraint");
-
-            // Evaluate the criterion
-            ctx.evalResult = evaluateCriterionWithCapture(patientId, criterion, windowStart, windowEnd, capturedResults);
+        List<CriterionEvaluationResultWithCapture> evalResults = new ArrayList<>(branch.criteria().size());
+        for (CompiledCriterion criterion : branch.criteria()) {
+            CriterionEvaluationResultWithCapture evalResult = evaluateCriterionWithCapture(
+                    criterion, modelType, evidence, windowStart, windowEnd, tierMeters, trace);
 
             // Store captured result if specified
-            if (ctx.captureAs != null && ctx.evalResult.capturedResult != null) {
-                capturedResults.put(ctx.captureAs, ctx.evalResult.capturedResult);
+            if (criterion.captureSlot() >= 0 && evalResult.capturedDay != NO_CAPTURE) {
+                capturedDays[criterion.captureSlot()] = evalResult.capturedDay;
             }
 
-            contexts.add(ctx);
+            evalResults.add(evalResult);
         }
 
         // Second pass: apply temporal constraints and update captured results
-        for (CriterionEvaluationContext ctx : contexts) {
-            if (ctx.hasTemporalConstraint && ctx.evalResult.matched) {
-                boolean temporalValid = applyTemporalConstraint(ctx.criterion, ctx.evalResult, capturedResults);
+        for (int i = 0; i < evalResults.size(); i++) {
+            CompiledCriterion criterion = branch.criteria().get(i);
+            CriterionEvaluationResultWithCapture evalResult = evalResults.get(i);
+            if (criterion.temporalConstraint() != null && evalResult.matched) {
+                boolean temporalValid = applyTemporalConstraint(criterion, evalResult, capturedDays);
                 if (!temporalValid) {
-                    ctx.evalResult.matched = false;
-                    ctx.evalResult.supportingFacts.clear();
-                } else if (ctx.captureAs != null && ctx.evalResult.capturedResult != null) {
+                    evalResult.matched = false;
+                    evalResult.supportingFacts.clear();
+                } else if (criterion.captureSlot() >= 0 && evalResult.capturedDay != NO_CAPTURE) {
                     // Update captured result after temporal constraint narrows it down
-                    capturedResults.put(ctx.captureAs, ctx.evalResult.capturedResult);
+                    capturedDays[criterion.captureSlot()] = evalResult.capturedDay;
                 }
             }
         }
 
         // Third pass: apply negation and collect results
-        List<Boolean> criterionResults = new ArrayList<>();
-        for (CriterionEvaluationContext ctx : contexts) {
-            boolean finalResult = ctx.negate ? !ctx.evalResult.matched : ctx.evalResult.matched;
-            criterionResults.add(finalResult);
-
-            if (finalResult && !ctx.negate) {
-                result.supportingFacts.addAll(ctx.evalResult.supportingFacts);
-                result.conceptAliasesTriggered.addAll(ctx.evalResult.conceptAliasesTriggered);
+        boolean allMatched = true;
+        boolean anyMatched = false;
+        for (int i = 0; i < evalResults.size(); i++) {
+            CompiledCriterion criterion = branch.criteria().get(i);
+            CriterionEvaluationResultWithCapture evalResult = evalResults.get(i);
+            boolean finalResult = criterion.negate() ? !evalResult.matched : evalResult.matched;
+            allMatched &= finalResult;
+            anyMatched |= finalResult;
+
+            if (finalResult && !criterion.negate()) {
+                collectEvidence(evalResult, result.supportingFacts, result.conceptAliasesTriggered);
             }
         }
 
         // Apply logic (AND/OR)
-        if ("AND".equals(logic)) {
-            result.fired = !criterionResults.isEmpty() && criterionResults.stream().allMatch(b -> b);
+        if (branch.logic() == BranchLogic.AND) {
+            result.fired = !evalResults.isEmpty() && allMatched;
         } else {
-            result.fired = criterionResults.stream().anyMatch(b -> b);
+            result.fired = anyMatched;
         }
 
         return result;
     }
 
     private CriterionEvaluationResultWithCapture evaluateCriterionWithCapture(
-            String patientId,
-            JsonNode criterion,
+            CompiledCriterion criterion,
+            HccModelType modelType,
+            PatientEvidence evidence,
             LocalDate windowStart,
             LocalDate windowEnd,
-            Map<String, CapturedResult> capturedResults) {
+            EvaluationMetrics.TierMeters tierMeters,
+            EvaluationTrace trace) {
 
         CriterionEvaluationResultWithCapture result = new CriterionEvaluationResultWithCapture();
-        result.supportingFacts = new ArrayList<>();
-        result.conceptAliasesTriggered = new ArrayList<>();
         result.matched = false;
 
-        String type = criterion.has("type") ? criterion.get("type").asText() : "";
-        String conceptAlias = criterion.has("conceptAlias") ? criterion.get("conceptAlias").asText() : "";
-        String qualifier = criterion.has("qualifier") ? criterion.get("qualifier").asText() : "";
-        String resultSelector = criterion.has("resultSelector") ? criterion.get("resultSelector").asText() : "ANY";
+        if (criterion.type() == null) {
+            return result;
+        }
 
-        switch (type) {
-            case "LAB":
-                evaluateLabCriterionWithCapture(patientId, conceptAlias, qualifier, resultSelector,
-                        criterion, windowStart, windowEnd, capturedResults, result);
-                break;
-            case "MEDICATION":
-                evaluateMedicationCriterion(patientId, conceptAlias, criterion, windowStart, windowEnd, result);
-                break;
-            case "DIAGNOSIS":
-                evaluateDiagnosisCriterion(patientId, conceptAlias, qualifier, result);
-                break;
-            default:
-                log.warn("Unknown criterion type: {}", type);
+        long start = System.nanoTime();
+        if (trace != null) {
+            trace.enter("CRITERION", criterion.type() + " " + criterion.conceptAlias());
+        }
+        switch (criterion.type()) {
+            case LAB -> evaluateLabCriterionWithCapture(criterion, evidence, windowStart, windowEnd, result);
+            case MEDICATION -> evaluateMedicationCriterion(criterion, evidence, windowStart, windowEnd, result);
+            case DIAGNOSIS -> evaluateDiagnosisCriterion(criterion, evidence.diagnoses(modelType), result);
+        }
+        tierMeters.recordCriterion(criterion.type(), System.nanoTime() - start, result.matched);
+        if (trace != null) {
+            trace.exit(result.matched, result.rowsScanned);
         }
 
         return result;
     }
 
     private void evaluateLabCriterionWithCapture(
-            String patientId,
-            String conceptAlias,
-            String qualifier,
-            String resultSelector,
-            JsonNode criterion,
+            CompiledCriterion criterion,
+            PatientEvidence evidence,
             LocalDate windowStart,
             LocalDate windowEnd,
-            Map<String, CapturedResult> capturedResults,
             CriterionEvaluationResultWithCapture result) {
 
-        List<LabResultDto> labsRaw = patientDataPort.getLabResults(patientId, conceptAlias, windowStart, windowEnd);
+        LabSeries labs = evidence.labs(criterion.conceptAlias());
 
-        if (labsRaw.isEmpty()) {
+        // Bound the series to the rule window; positions [lo, hi) ascend by date
+        int lo = labs.lowerBound((int) windowStart.toEpochDay());
+        int hi = labs.upperBound((int) windowEnd.toEpochDay());
+        if (lo >= hi) {
             return;
         }
 
-        // Copy to mutable list and sort by date (most recent first)
-        List<LabResultDto> labs = new ArrayList<>(labsRaw);
-        labs.sort((a, b) -> b.getResultDate().compareTo(a.getResultDate()));
+        result.criterion = criterion;
+        result.labs = labs;
+        result.labLo = lo;
+        result.labHi = hi;
+        result.rowsScanned = hi - lo;
 
         // Select which results to evaluate based on resultSelector
-        List<LabResultDto> labsToEvaluate = selectLabResults(labs, resultSelector);
-
-        for (LabResultDto lab : labsToEvaluate) {
-            boolean matches = evaluateLabValue(lab, qualifier, criterion);
-
-            if (matches) {
-                result.matched = true;
-                result.matchedLabs.add(lab);
-                result.conceptAliasesTriggered.add(conceptAlias);
-                result.supportingFacts.add(SupportingFact.builder()
-                        .conceptAlias(conceptAlias)
-                        .evidenceType("LAB")
-                        .evidenceDate(lab.getResultDate())
-                        .qualitativeResult(lab.getQualitativeResult())
-                        .quantitativeResult(lab.getQuantitativeResult() != null ? lab.getQuantitativeResult().toString() : null)
-                        .description("Lab: " + conceptAlias + " = " + lab.getQuantitativeResult())
-                        .build());
-
-                // For MOST_RECENT or FIRST, capture the single result
-                if ("MOST_RECENT".equals(resultSelector) || "FIRST".equals(resultSelector)) {
-                    result.capturedResult = new CapturedResult();
-                    result.capturedResult.date = lab.getResultDate();
-                    result.capturedResult.value = lab.getQuantitativeResult();
-                    result.capturedResult.lab = lab;
-                    break;
+        switch (criterion.resultSelector()) {
+            case MOST_RECENT, FIRST -> {
+                int pos = criterion.resultSelector() == ResultSelector.MOST_RECENT ? hi - 1 : lo;
+                // Only the selected result counts as matched
+                result.labLo = pos;
+                result.labHi = pos;
+                if (labs.matches(pos, criterion)) {
+                    // Capture the single selected result
+                    result.matched = true;
+                    result.labHi = pos + 1;
+                    result.capturedDay = labs.epochDay(pos);
                 }
             }
-        }
-
-        // For ANY selector, capture the most recent matching result
-        if ("ANY".equals(resultSelector) && result.matched && !result.matchedLabs.isEmpty()) {
-            LabResultDto mostRecentMatch = result.matchedLabs.stream()
-                    .max(Comparator.comparing(LabResultDto::getResultDate))
-                    .orElse(null);
-            if (mostRecentMatch != null) {
-                result.capturedResult = new CapturedResult();
-                result.capturedResult.date = mostRecentMatch.getResultDate();
-                result.capturedResult.value = mostRecentMatch.getQuantitativeResult();
-                result.capturedResult.lab = mostRecentMatch;
+            case ANY -> {
+                // Capture the most recent matching result
+                int pos = labs.lastMatch(criterion, lo, hi);
+                if (pos >= 0) {
+                    result.matched = true;
+                    result.capturedDay = labs.epochDay(pos);
+                }
             }
+            case ALL -> result.matched = labs.lastMatch(criterion, lo, hi) >= 0;
         }
     }
 
-    private List<LabResultDto> selectLabResults(List<LabResultDto> labs, String resultSelector) {
-        return switch (resultSelector) {
-            case "MOST_RECENT" -> labs.isEmpty() ? Collections.emptyList() : Collections.singletonList(labs.get(0));
-            case "FIRST" -> labs.isEmpty() ? Collections.emptyList() : Collections.singletonList(labs.get(labs.size() - 1));
-            case "ALL" -> labs;
-            default -> labs; // ANY - evaluate all, match if any matches
-        };
-    }
-
-    private boolean evaluateLabValue(LabResultDto lab, String qualifier, JsonNode criterion) {
-        if ("POSITIVE".equals(qualifier)) {
-            return "POSITIVE".equalsIgnoreCase(lab.getQualitativeResult());
-        } else if ("NEGATIVE".equals(qualifier)) {
-            return "NEGATIVE".equalsIgnoreCase(lab.getQualitativeResult());
-        } else if ("RANGE".equals(qualifier)) {
-            return evaluateRangeQualifier(lab, criterion);
-        } else if (lab.getQuantitativeResult() != null) {
-            double value = lab.getQuantitativeResult().doubleValue();
-            return switch (qualifier) {
-                case "GREATER_THAN" -> criterion.has("threshold") && value > criterion.get("threshold").asDouble();
-                case "GREATER_THAN_OR_EQUAL" -> criterion.has("threshold") && value >= criterion.get("threshold").asDouble();
-                case "LESS_THAN" -> criterion.has("threshold") && value < criterion.get("threshold").asDouble();
-                case "LESS_THAN_OR_EQUAL" -> criterion.has("threshold") && value <= criterion.get("threshold").asDouble();
-                case "EQUALS" -> criterion.has("threshold") && value == criterion.get("threshold").asDouble();
-                default -> false;
-            };
-        }
-        return false;
-    }
-
-    private boolean evaluateRangeQualifier(LabResultDto lab, JsonNode criterion) {
-        if (lab.getQuantitativeResult() == null) {
-            return false;
-        }
-
-        double value = lab.getQuantitativeResult().doubleValue();
-        double rangeMin = criterion.has("rangeMin") ? criterion.get("rangeMin").asDouble() : Double.MIN_VALUE;
-        double rangeMax = criterion.has("rangeMax") ? criterion.get("rangeMax").asDouble() : Double.MAX_VALUE;
-        boolean minInclusive = !criterion.has("rangeMinInclusive") || criterion.get("rangeMinInclusive").asBoolean();
-        boolean maxInclusive = criterion.has("rangeMaxInclusive") && criterion.get("rangeMaxInclusive").asBoolean();
-
-        boolean meetsMin = minInclusive ? value >= rangeMin : value > rangeMin;
-        boolean meetsMax = maxInclusive ? value <= rangeMax : value < rangeMax;
-
-        return meetsMin && meetsMax;
-    }
-
+    /**
+     * Temporal constraints narrow the matched positions to a date range found by binary search,
+     * then ask the series for the latest match in that range. Threshold criteria answer that with a
+     * range-max/min query, so "≥ N days before X" and negated "no eGFR ≥ 60 between A and B" checks
+     * stay logarithmic in the patient's lab history.
+     */
     private boolean applyTemporalConstraint(
-            JsonNode criterion,
+            CompiledCriterion criterion,
             CriterionEvaluationResultWithCapture evalResult,
-            Map<String, CapturedResult> capturedResults) {
+            int[] capturedDays) {
 
-        JsonNode temporalConstraint = criterion.get("temporalConstraint");
-        if (temporalConstraint == null) {
-            return true;
-        }
+        TemporalConstraint temporalConstraint = criterion.temporalConstraint();
+        LabSeries labs = evalResult.labs;
 
         // Handle "relativeTo" constraint (e.g., "≥ 90 days before mostRecentQualifying")
-        if (temporalConstraint.has("relativeTo")) {
-            String relativeTo = temporalConstraint.get("relativeTo").asText();
-            CapturedResult referenceResult = capturedResults.get(relativeTo);
+        if (temporalConstraint.kind() == TemporalConstraint.Kind.RELATIVE) {
+            int referenceDay = captured(capturedDays, temporalConstraint.relativeToSlot());
 
-            if (referenceResult == null || referenceResult.date == null) {
+            if (referenceDay == NO_CAPTURE || temporalConstraint.operator() == null) {
                 return false;
             }
 
-            String operator = temporalConstraint.has("operator") ? temporalConstraint.get("operator").asText() : "BEFORE";
-            int minDays = temporalConstraint.has("minDays") ? temporalConstraint.get("minDays").asInt() : 0;
-
-            // Check if any matched lab satisfies the temporal constraint
-            boolean anyMatch = false;
-            List<LabResultDto> validLabs = new ArrayList<>();
-
-            for (LabResultDto lab : evalResult.matchedLabs) {
-                long daysDiff = ChronoUnit.DAYS.between(lab.getResultDate(), referenceResult.date);
-
-                boolean temporallyValid = switch (operator) {
-                    case "BEFORE" -> daysDiff >= minDays;
-                    case "AFTER" -> daysDiff <= -minDays;
-                    case "SAME_DAY" -> daysDiff == 0;
-                    default -> false;
-                };
-
-                if (temporallyValid) {
-                    anyMatch = true;
-                    validLabs.add(lab);
-                }
+            // The most recent valid lab becomes the capture
+            int pos = labs.lastMatchRelative(evalResult.criterion, evalResult.labLo, evalResult.labHi,
+                    temporalConstraint.operator(), referenceDay, temporalConstraint.minDays());
+            if (pos < 0) {
+                return false;
             }
-
-            // Update captured result to the valid lab if we need to reference it later
-            if (anyMatch && !validLabs.isEmpty() && criterion.has("captureAs")) {
-                LabResultDto capturedLab = validLabs.get(0); // Use first valid
-                evalResult.capturedResult = new CapturedResult();
-                evalResult.capturedResult.date = capturedLab.getResultDate();
-                evalResult.capturedResult.value = capturedLab.getQuantitativeResult();
-                evalResult.capturedResult.lab = capturedLab;
+            if (criterion.captureAs() != null) {
+                evalResult.capturedDay = labs.epochDay(pos);
             }
-
-            return anyMatch;
+            return true;
         }
 
         // Handle "after" and "before" constraint (between two captured results)
-        if (temporalConstraint.has("after") && temporalConstraint.has("before")) {
-            String afterRef = temporalConstraint.get("after").asText();
-            String beforeRef = temporalConstraint.get("before").asText();
-
-            CapturedResult afterResult = capturedResults.get(afterRef);
-            CapturedResult beforeResult = capturedResults.get(beforeRef);
-
-            if (afterResult == null || beforeResult == null ||
-                    afterResult.date == null || beforeResult.date == null) {
-                return false;
-            }
+        int afterDay = captured(capturedDays, temporalConstraint.afterSlot());
+        int beforeDay = captured(capturedDays, temporalConstraint.beforeSlot());
 
-            // Check if any matched lab falls between the two dates
-            for (LabResultDto lab : evalResult.matchedLabs) {
-                LocalDate labDate = lab.getResultDate();
-                if (labDate.isAfter(afterResult.date) && labDate.isBefore(beforeResult.date)) {
-                    return true;
-                }
-            }
+        if (afterDay == NO_CAPTURE || beforeDay == NO_CAPTURE) {
             return false;
         }
 
-        return true;
+        // Check if any matched lab falls strictly between the two dates
+        return labs.lastMatchBetween(evalResult.criterion, evalResult.labLo, evalResult.labHi, afterDay, beforeDay) >= 0;
+    }
+
+    private static int[] newCaptureSlots(CompiledBranch branch) {
+        int[] capturedDays = new int[branch.captureSlotCount()];
+        Arrays.fill(capturedDays, NO_CAPTURE);
+        return capturedDays;
+    }
+
+    private static int captured(int[] capturedDays, int slot) {
+        return slot >= 0 ? capturedDays[slot] : NO_CAPTURE;
+    }
+
+    /**
+     * Add a criterion's supporting facts and triggered aliases to a branch result.
+     * Lab facts are only materialized here, for criteria that contribute to the branch.
+     */
+    private void collectEvidence(
+            CriterionEvaluationResultWithCapture evalResult,
+            List<SupportingFact> supportingFacts,
+            List<String> conceptAliasesTriggered) {
+
+        supportingFacts.addAll(evalResult.supportingFacts);
+        conceptAliasesTriggered.addAll(evalResult.conceptAliasesTriggered);
+
+        LabSeries labs = evalResult.labs;
+        for (int pos = evalResult.lastMatchedLab(evalResult.labLo, evalResult.labHi); pos >= 0;
+             pos = evalResult.lastMatchedLab(evalResult.labLo, pos)) {
+            String conceptAlias = evalResult.criterion.conceptAlias();
+            BigDecimal value = labs.exactValue(pos);
+            conceptAliasesTriggered.add(conceptAlias);
+            supportingFacts.add(SupportingFact.builder()
+                    .conceptAlias(conceptAlias)
+                    .evidenceType("LAB")
+                    .evidenceDate(LocalDate.ofEpochDay(labs.epochDay(pos)))
+                    .qualitativeResult(labs.qualitativeResult(pos))
+                    .quantitativeResult(value != null ? value.toString() : null)
+                    .description("Lab: " + conceptAlias + " = " + value)
+                    .build());
+        }
     }
 
     private void evaluateMedicationCriterion(
-            String patientId,
-            String conceptAlias,
-            JsonNode criterion,
+            CompiledCriterion criterion,
+            PatientEvidence evidence,
             LocalDate windowStart,
             LocalDate windowEnd,
             CriterionEvaluationResultWithCapture result) {
 
-        String combinationType = criterion.has("combinationType") ? criterion.get("combinationType").asText() : null;
+        String conceptAlias = criterion.conceptAlias();
+        CombinationType combinationType = criterion.combinationType();
 
-        List<MedicationOrderDto> meds = patientDataPort.getMedicationOrders(
-                patientId, Collections.singletonList(conceptAlias), windowStart, windowEnd);
+        List<MedicationOrderDto> meds = evidence.medications(conceptAlias, windowStart, windowEnd);
+        result.rowsScanned = meds.size();
 
         for (MedicationOrderDto med : meds) {
             boolean matches = true;
 
             if (combinationType != null && med.getCombinationType() != null) {
-                matches = combinationType.equals(med.getCombinationType().name());
+                matches = combinationType == med.getCombinationType();
             }
 
             if (matches) {
@@ -566,25 +776,26 @@ public class SuspectEvaluationService {
     }
 
     private void evaluateDiagnosisCriterion(
-            String patientId,
-            String conceptAlias,
-            String qualifier,
+            CompiledCriterion criterion,
+            DiagnosisIndex diagnoses,
             CriterionEvaluationResultWithCapture result) {
 
-        List<DiagnosisDto> diagnoses = patientDataPort.getDiagnoses(patientId, "CMS");
+        String conceptAlias = criterion.conceptAlias();
+        boolean found = diagnoses.contains(conceptAlias);
 
-        boolean found = diagnoses.stream()
-                .anyMatch(d -> conceptAlias.equals(d.getHccCategory()) || conceptAlias.equals(d.getIcdCode()));
-
-        if ("PRESENT".equals(qualifier) && found) {
+        if (criterion.qualifier() == QualifierType.PRESENT && found) {
             result.matched = true;
             result.conceptAliasesTriggered.add(conceptAlias);
-        } else if ("ABSENT".equals(qualifier) && !found) {
+        } else if (criterion.qualifier() == QualifierType.ABSENT && !found) {
             result.matched = true;
         }
     }
 
     // Inner classes for evaluation results
+
+    /**
+     * Shared across model types within one evaluation; read-only once computed.
+     */
     private static class TierEvaluationResult {
         boolean fired;
         List<SupportingFact> supportingFacts;
@@ -598,25 +809,27 @@ public class SuspectEvaluationService {
         List<String> conceptAliasesTriggered;
     }
 
-    private static class CriterionEvaluationContext {
-        JsonNode criterion;
-        boolean negate;
-        String captureAs;
-        boolean hasTemporalConstraint;
-        CriterionEvaluationResultWithCapture evalResult;
-    }
-
+    /**
+     * Lab matches are kept as positions in the patient's LabSeries rather than copied results: every
+     * match within [labLo, labHi). For MOST_RECENT / FIRST that range holds just the selected position,
+     * or nothing when it did not match.
+     */
     private static class CriterionEvaluationResultWithCapture {
         boolean matched;
         List<SupportingFact> supportingFacts = new ArrayList<>();
         List<String> conceptAliasesTriggered = new ArrayList<>();
-        List<LabResultDto> matchedLabs = new ArrayList<>();
-        CapturedResult capturedResult;
-    }
-
-    private static class CapturedResult {
-        LocalDate date;
-        BigDecimal value;
-        LabResultDto lab;
+        CompiledCriterion criterion;
+        LabSeries labs = LabSeries.EMPTY;
+        int labLo;
+        int labHi;
+        int capturedDay = NO_CAPTURE;
+        int rowsScanned;
+
+        /**
+         * Most recent matched lab position within [lo, hi), or -1.
+         */
+        int lastMatchedLab(int lo, int hi) {
+            return criterion != null ? labs.lastMatch(criterion, lo, hi) : -1;
+        }
     }
 }
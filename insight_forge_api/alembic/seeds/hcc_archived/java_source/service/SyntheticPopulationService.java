@@ -0,0 +1,331 @@
+package com.algoaccel.hcc.service;
+
+import com.algoaccel.hcc.config.HccSyntheticProperties;
+import com.algoaccel.hcc.dto.SyntheticPopulationSummary;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Generates a synthetic HCC population at load-testing scale and bulk-loads it with JDBC batches.
+ *
+ * Generation is deterministic: each patient is derived from (seed, patient index) alone, so the same
+ * seed, count and as-of date produce the same rows regardless of chunking or thread scheduling.
+ * Distributions follow the V16 (HIV) and V19 (CKD) seed patients: eGFR series across CKD stages with
+ * occasional recoveries, dialysis-length histories for ESRD enrollees, HIV tests and viral loads,
+ * COMBINATION / COMPONENT ART orders, validated and unvalidated diagnoses, and rejection states
+ * against the seeded rules (1 = HIV, 2-6 = CKD).
+ *
+ * Loads are idempotent: patients whose id already exists are skipped with all of their rows, so a
+ * restart against a persistent database only adds what is missing (e.g. after raising the count).
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SyntheticPopulationService {
+
+    private static final String EXISTING_PATIENT_IDS =
+            "SELECT patient_id FROM hcc_patient WHERE patient_id BETWEEN ? AND ?";
+    private static final String INSERT_PATIENT =
+            "INSERT INTO hcc_patient (patient_id, age, sex, enrollment_type) VALUES (?, ?, ?, ?)";
+    private static final String INSERT_LAB =
+            "INSERT INTO hcc_lab_result (patient_id, concept_alias, result_date, qualitative_result, quantitative_result) "
+                    + "VALUES (?, ?, ?, ?, ?)";
+    private static final String INSERT_MEDICATION =
+            "INSERT INTO hcc_medication_order (patient_id, concept_alias, start_date, combination_type) VALUES (?, ?, ?, ?)";
+    private static final String INSERT_DIAGNOSIS =
+            "INSERT INTO hcc_diagnosis (patient_id, icd_code, hcc_category, model_type, suppression_status) "
+                    + "VALUES (?, ?, ?, ?, ?)";
+    private static final String INSERT_REJECTION =
+            "INSERT INTO hcc_rule_rejection_state (patient_id, rule_id, model_type, rejected_at, last_triggering_concept_alias) "
+                    + "VALUES (?, ?, ?, ?, ?)";
+
+    private static final int LOOKBACK_DAYS = 730;
+
+    private static final String[] COMBINATION_ART = {
+            "BICTEGRAVIR_EMTRICITABINE_TENOFOVIR_MED",
+            "DOLUTEGRAVIR_ABACAVIR_LAMIVUDINE_MED",
+            "EFAVIRENZ_EMTRICITABINE_TENOFOVIR_MED"
+    };
+    private static final String[] COMPONENT_ART = {
+            "EMTRICITABINE_MED", "DOLUTEGRAVIR_MED", "ABACAVIR_MED", "RALTEGRAVIR_MED",
+            "DARUNAVIR_MED", "LAMIVUDINE_MED", "TENOFOVIR_MED"
+    };
+    private static final String[] DIAGNOSIS_STATUSES = {
+            "Fully Validated", "Fully Validated", "Needs Administrative Attention",
+            "Needs Clinical and Administrative Attention", "Pending Review", "Not Validated"
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final HccSyntheticProperties properties;
+    private final ExecutorService hccBatchExecutor;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        if (properties.getPatients() > 0) {
+            generate(properties.getPatients(), properties.getSeed());
+        }
+    }
+
+    /**
+     * Generate and insert patients [0, patients) for a seed, chunk by chunk on the hcc.batch pool.
+     * Patients that already exist are left as they are.
+     */
+    public SyntheticPopulationSummary generate(int patients, long seed) {
+        long started = System.currentTimeMillis();
+        LocalDate asOf = properties.getAsOf() != null ? properties.getAsOf() : LocalDate.now();
+        int chunkSize = Math.max(1, properties.getChunkSize());
+
+        List<CompletableFuture<long[]>> chunks = new ArrayList<>();
+        for (int from = 0; from < patients; from += chunkSize) {
+            int chunkFrom = from;
+            int chunkTo = Math.min(from + chunkSize, patients);
+            chunks.add(CompletableFuture.supplyAsync(() -> loadChunk(chunkFrom, chunkTo, seed, asOf), hccBatchExecutor));
+        }
+
+        long[] totals = new long[6];
+        for (CompletableFuture<long[]> chunk : chunks) {
+            long[] counts = chunk.join();
+            for (int i = 0; i < totals.length; i++) {
+                totals[i] += counts[i];
+            }
+        }
+
+        long elapsedMillis = System.currentTimeMillis() - started;
+        long rows = totals[0] + totals[1] + totals[2] + totals[3] + totals[4];
+        SyntheticPopulationSummary summary = SyntheticPopulationSummary.builder()
+                .seed(seed)
+                .patients(totals[0])
+                .labResults(totals[1])
+                .medicationOrders(totals[2])
+                .diagnoses(totals[3])
+                .rejectionStates(totals[4])
+                .existingPatients(totals[5])
+                .elapsedMillis(elapsedMillis)
+                .rowsPerSecond(elapsedMillis > 0 ? rows * 1000.0 / elapsedMillis : 0)
+                .build();
+        log.info("Loaded synthetic HCC population (seed {}): {} patients, {} labs, {} medication orders, "
+                        + "{} diagnoses, {} rejection states in {} ms; {} patients already existed",
+                seed, summary.getPatients(), summary.getLabResults(), summary.getMedicationOrders(),
+                summary.getDiagnoses(), summary.getRejectionStates(), elapsedMillis, summary.getExistingPatients());
+        return summary;
+    }
+
+    private long[] loadChunk(int from, int to, long seed, LocalDate asOf) {
+        // Ids are zero-padded, so the chunk's ids sort between its first and last
+        Set<String> existing = new HashSet<>(jdbcTemplate.queryForList(
+                EXISTING_PATIENT_IDS, String.class, patientId(from), patientId(to - 1)));
+
+        Rows rows = new Rows();
+        for (int index = from; index < to; index++) {
+            if (!existing.contains(patientId(index))) {
+                generatePatient(index, seed, asOf, rows);
+            }
+        }
+        if (rows.patients.isEmpty()) {
+            return new long[] {0, 0, 0, 0, 0, existing.size()};
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            int batchSize = Math.max(1, properties.getChunkSize());
+            jdbcTemplate.batchUpdate(INSERT_PATIENT, rows.patients, batchSize, SyntheticPopulationService::setArgs);
+            jdbcTemplate.batchUpdate(INSERT_LAB, rows.labs, batchSize, SyntheticPopulationService::setArgs);
+            jdbcTemplate.batchUpdate(INSERT_MEDICATION, rows.medications, batchSize, SyntheticPopulationService::setArgs);
+            jdbcTemplate.batchUpdate(INSERT_DIAGNOSIS, rows.diagnoses, batchSize, SyntheticPopulationService::setArgs);
+            jdbcTemplate.batchUpdate(INSERT_REJECTION, rows.rejections, batchSize, SyntheticPopulationService::setArgs);
+        });
+
+        return new long[] {
+                rows.patients.size(), rows.labs.size(), rows.medications.size(),
+                rows.diagnoses.size(), rows.rejections.size(), existing.size()
+        };
+    }
+
+    private static void setArgs(PreparedStatement ps, Object[] args) throws SQLException {
+        for (int i = 0; i < args.length; i++) {
+            ps.setObject(i + 1, args[i]);
+        }
+    }
+
+    /**
+     * Append one patient's rows. Depends only on (index, seed, asOf).
+     */
+    void generatePatient(int index, long seed, LocalDate asOf, Rows rows) {
+        SplittableRandom random = new SplittableRandom(seed * 0x9E3779B97F4A7C15L + index);
+        String patientId = patientId(index);
+
+        double enrollment = random.nextDouble();
+        String modelType = enrollment < 0.6 ? "CMS" : enrollment < 0.9 ? "HHS" : "ESRD";
+        int age = switch (modelType) {
+            case "CMS" -> 65 + random.nextInt(31);
+            case "HHS" -> 18 + random.nextInt(47);
+            default -> 20 + random.nextInt(66);
+        };
+        rows.patients.add(new Object[] {patientId, age, random.nextBoolean() ? "M" : "F", modelType});
+
+        boolean esrd = "ESRD".equals(modelType);
+        if (random.nextDouble() < (esrd ? 0.9 : 0.15)) {
+            generateCkd(patientId, modelType, esrd, random, asOf, rows);
+        } else if (random.nextDouble() < 0.5) {
+            // Routine metabolic panels with normal kidney function
+            int results = 1 + random.nextInt(3);
+            for (int i = 0; i < results; i++) {
+                rows.labs.add(lab(patientId, "EGFR_CLIN", date(random, asOf), null, decimal(60 + random.nextDouble() * 50)));
+            }
+        }
+
+        if (random.nextDouble() < 0.03) {
+            generateHiv(patientId, modelType, random, asOf, rows);
+        } else if (random.nextDouble() < 0.02) {
+            rows.labs.add(lab(patientId, "HIV_TEST_POSITIVE_CLIN", date(random, asOf), "NEGATIVE", null));
+        }
+    }
+
+    private String patientId(int index) {
+        return properties.getPatientIdPrefix() + String.format("%08d", index);
+    }
+
+    private void generateCkd(String patientId, String modelType, boolean esrd, SplittableRandom random,
+                             LocalDate asOf, Rows rows) {
+        double draw = random.nextDouble();
+        CkdStage stage = draw < 0.45 ? CkdStage.STAGE_3A
+                : draw < 0.75 ? CkdStage.STAGE_3B
+                : draw < 0.92 ? CkdStage.STAGE_4
+                : CkdStage.STAGE_5;
+        // Stage 3 suspects for ESRD enrollees come from the ESRD-only Stage 3 rule
+        long ruleId = esrd && stage.stage3 ? 2L : stage.ruleId;
+
+        // ESRD enrollees carry dialysis-era histories with hundreds of results
+        int results = esrd ? 100 + random.nextInt(300) : 3 + random.nextInt(22);
+        double base = stage.egfrLow + random.nextDouble() * (stage.egfrHigh - stage.egfrLow);
+        for (int i = 0; i < results; i++) {
+            double egfr = random.nextDouble() < 0.08
+                    ? 60 + random.nextDouble() * 20
+                    : Math.max(2, base + random.nextGaussian() * 4);
+            rows.labs.add(lab(patientId, "EGFR_CLIN", date(random, asOf), null, decimal(egfr)));
+        }
+
+        if (random.nextDouble() < 0.3) {
+            rows.diagnoses.add(diagnosis(patientId, stage.icdCode, stage.hccCategory, modelType, random));
+        }
+        if (stage == CkdStage.STAGE_5 && random.nextDouble() < 0.1) {
+            rows.diagnoses.add(new Object[] {patientId, "Z94.0", "RENAL_TRANSPLANT_STATUS", modelType, "Fully Validated"});
+        }
+        if (random.nextDouble() < 0.05) {
+            rows.rejections.add(new Object[] {patientId, ruleId, modelType, date(random, asOf), "EGFR_CLIN"});
+        }
+    }
+
+    private void generateHiv(String patientId, String modelType, SplittableRandom random, LocalDate asOf, Rows rows) {
+        int tests = 1 + random.nextInt(4);
+        for (int i = 0; i < tests; i++) {
+            rows.labs.add(lab(patientId, "HIV_TEST_POSITIVE_CLIN", date(random, asOf), "POSITIVE", null));
+        }
+
+        // Viral loads in copies/mL, log-normally distributed; 200+ counts as detectable
+        int viralLoads = 2 + random.nextInt(11);
+        for (int i = 0; i < viralLoads; i++) {
+            double copies = Math.min(9_999_999, Math.exp(random.nextGaussian() * 2.5 + 6));
+            rows.labs.add(lab(patientId, "HIV_TEST_NON_RAPID_QUANTITATIVE_OBSTYPE", date(random, asOf),
+                    copies >= 200 ? "POSITIVE" : "NEGATIVE", decimal(copies)));
+        }
+
+        String lastMedication = null;
+        double regimen = random.nextDouble();
+        if (regimen < 0.55) {
+            lastMedication = COMBINATION_ART[random.nextInt(COMBINATION_ART.length)];
+            addOrders(patientId, lastMedication, "COMBINATION", random, asOf, rows);
+        } else if (regimen < 0.85) {
+            int components = 1 + random.nextInt(2);
+            for (int i = 0; i < components; i++) {
+                lastMedication = COMPONENT_ART[random.nextInt(COMPONENT_ART.length)];
+                addOrders(patientId, lastMedication, "COMPONENT", random, asOf, rows);
+            }
+        }
+
+        if (random.nextDouble() < 0.3) {
+            rows.diagnoses.add(diagnosis(patientId, "B20", "HCC 1", modelType, random));
+        }
+        if (lastMedication != null && random.nextDouble() < 0.05) {
+            rows.rejections.add(new Object[] {patientId, 1L, modelType, date(random, asOf), lastMedication});
+        }
+    }
+
+    private void addOrders(String patientId, String conceptAlias, String combinationType, SplittableRandom random,
+                           LocalDate asOf, Rows rows) {
+        int refills = 1 + random.nextInt(6);
+        for (int i = 0; i < refills; i++) {
+            rows.medications.add(new Object[] {patientId, conceptAlias, date(random, asOf), combinationType});
+        }
+    }
+
+    private static Object[] diagnosis(String patientId, String icdCode, String hccCategory, String modelType,
+                                      SplittableRandom random) {
+        String status = DIAGNOSIS_STATUSES[random.nextInt(DIAGNOSIS_STATUSES.length)];
+        return new Object[] {patientId, icdCode, hccCategory, modelType, status};
+    }
+
+    private static Object[] lab(String patientId, String conceptAlias, LocalDate resultDate,
+                                String qualitative, BigDecimal quantitative) {
+        return new Object[] {patientId, conceptAlias, resultDate, qualitative, quantitative};
+    }
+
+    private static LocalDate date(SplittableRandom random, LocalDate asOf) {
+        return asOf.minusDays(random.nextInt(LOOKBACK_DAYS));
+    }
+
+    private static BigDecimal decimal(double value) {
+        return BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * CKD stages with their eGFR band, diagnosis coding and V18 rule.
+     */
+    private enum CkdStage {
+        STAGE_3A(45, 60, "N18.31", "HCC 328", 4L, true),
+        STAGE_3B(30, 45, "N18.32", "HCC 327", 3L, true),
+        STAGE_4(15, 30, "N18.4", "HCC 329", 5L, false),
+        STAGE_5(5, 15, "N18.5", "HCC 330", 6L, false);
+
+        final double egfrLow;
+        final double egfrHigh;
+        final String icdCode;
+        final String hccCategory;
+        final long ruleId;
+        final boolean stage3;
+
+        CkdStage(double egfrLow, double egfrHigh, String icdCode, String hccCategory, long ruleId, boolean stage3) {
+            this.egfrLow = egfrLow;
+            this.egfrHigh = egfrHigh;
+            this.icdCode = icdCode;
+            this.hccCategory = hccCategory;
+            this.ruleId = ruleId;
+            this.stage3 = stage3;
+        }
+    }
+
+    /**
+     * Insert parameters per table for one chunk.
+     */
+    static class Rows {
+        final List<Object[]> patients = new ArrayList<>();
+        final List<Object[]> labs = new ArrayList<>();
+        final List<Object[]> medications = new ArrayList<>();
+        final List<Object[]> diagnoses = new ArrayList<>();
+        final List<Object[]> rejections = new ArrayList<>();
+    }
+}
@@ -0,0 +1,205 @@
+package com.algoaccel.hcc.engine;
+
+import com.algoaccel.hcc.dto.LabResultDto;
+import com.algoaccel.hcc.model.enums.EvidenceType;
+import com.algoaccel.hcc.model.enums.QualifierType;
+import com.algoaccel.hcc.model.enums.ResultSelector;
+import com.algoaccel.hcc.model.enums.TemporalOperator;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static com.algoaccel.hcc.engine.LabSeriesTest.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Relative and between temporal lookups against the baseline, which filtered the criterion's matched
+ * labs (most recent first) with ChronoUnit.DAYS and isAfter/isBefore and captured the first valid one.
+ */
+class LabSeriesTemporalTest {
+
+    private static final LocalDate BASE = LocalDate.of(2024, 1, 1);
+
+    private static final List<ResultSelector> SELECTORS =
+            List.of(ResultSelector.ANY, ResultSelector.ALL, ResultSelector.MOST_RECENT, ResultSelector.FIRST);
+
+    @Test
+    void relativeConstraintsMatchBaselineAndCaptureTheSameLab() {
+        Random random = new Random(19);
+        for (int round = 0; round < 300; round++) {
+            // Long enough for threshold criteria to take the segment-tree path
+            List<LabResultDto> labs = randomLabs(random, 1 + random.nextInt(200), 90);
+            LabSeries series = LabSeries.of(labs);
+            int windowStart = random.nextInt(10);
+            int windowEnd = 80 + random.nextInt(10);
+
+            for (ResultSelector selector : SELECTORS) {
+                CompiledCriterion criterion = withSelector(criterion(QualifierType.GREATER_THAN_OR_EQUAL, 60), selector);
+                List<LabResultDto> matched = baselineMatched(labs, criterion, windowStart, windowEnd);
+                int[] range = matchedRange(series, criterion, windowStart, windowEnd);
+
+                for (TemporalOperator operator : TemporalOperator.values()) {
+                    int referenceOffset = random.nextInt(100);
+                    int minDays = random.nextInt(4) == 0 ? 0 : random.nextInt(60);
+                    LabResultDto expected = baselineRelative(matched, operator, BASE.plusDays(referenceOffset), minDays);
+
+                    int pos = series.lastMatchRelative(criterion, range[0], range[1],
+                            operator, day(referenceOffset), minDays);
+                    String context = selector + " " + operator + " " + minDays + " days from day " + referenceOffset;
+                    if (expected == null) {
+                        assertEquals(-1, pos, context);
+                    } else {
+                        assertTrue(pos >= 0, context);
+                        assertEquals(expected.getQuantitativeResult(), series.exactValue(pos), context);
+                        assertEquals(expected.getResultDate().toEpochDay(), series.epochDay(pos), context);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void sameDayCaptureTakesTheFirstResultInSourceOrder() {
+        List<LabResultDto> labs = List.of(lab(5, 61), lab(5, 62), lab(3, 70), lab(5, 63));
+        LabSeries series = LabSeries.of(labs);
+        CompiledCriterion criterion = criterion(QualifierType.GREATER_THAN_OR_EQUAL, 60);
+
+        int pos = series.lastMatchRelative(criterion, 0, series.size(), TemporalOperator.SAME_DAY, day(5), 0);
+        assertEquals(new BigDecimal(61), series.exactValue(pos));
+    }
+
+    @Test
+    void beforeAndAfterBoundsIncludeExactlyMinDays() {
+        LabSeries series = LabSeries.of(List.of(lab(0, 70), lab(10, 70), lab(20, 70)));
+        CompiledCriterion criterion = criterion(QualifierType.GREATER_THAN, 60);
+        int lo = 0;
+        int hi = series.size();
+
+        // 90 days before day 100 is day 10: included, day 20 is not
+        assertEquals(day(10), series.epochDay(
+                series.lastMatchRelative(criterion, lo, hi, TemporalOperator.BEFORE, day(100), 90)));
+        assertEquals(-1, series.lastMatchRelative(criterion, lo, hi, TemporalOperator.BEFORE, day(9), 10));
+        assertEquals(day(20), series.epochDay(
+                series.lastMatchRelative(criterion, lo, hi, TemporalOperator.AFTER, day(10), 10)));
+        assertEquals(-1, series.lastMatchRelative(criterion, lo, hi, TemporalOperator.AFTER, day(11), 10));
+    }
+
+    @Test
+    void betweenBoundsAreStrict() {
+        LabSeries series = LabSeries.of(List.of(lab(10, 50), lab(20, 50)));
+        CompiledCriterion criterion = criterion(QualifierType.LESS_THAN, 60);
+        int hi = series.size();
+
+        assertEquals(-1, series.lastMatchBetween(criterion, 0, hi, day(10), day(20)));
+        assertEquals(-1, series.lastMatchBetween(criterion, 0, hi, day(10), day(10)));
+        assertEquals(-1, series.lastMatchBetween(criterion, 0, hi, day(20), day(10)));
+        assertEquals(day(10), series.epochDay(series.lastMatchBetween(criterion, 0, hi, day(9), day(20))));
+        assertEquals(day(20), series.epochDay(series.lastMatchBetween(criterion, 0, hi, day(10), day(21))));
+    }
+
+    @Test
+    void betweenAndNegatedBetweenMatchBaseline() {
+        Random random = new Random(23);
+        for (int round = 0; round < 300; round++) {
+            List<LabResultDto> labs = randomLabs(random, 1 + random.nextInt(200), 90);
+            LabSeries series = LabSeries.of(labs);
+            int windowStart = random.nextInt(10);
+            int windowEnd = 80 + random.nextInt(10);
+
+            for (ResultSelector selector : SELECTORS) {
+                // CKD pattern: "no eGFR >= 60 between the two qualifying results"
+                CompiledCriterion criterion = withSelector(criterion(QualifierType.GREATER_THAN_OR_EQUAL, 60), selector);
+                List<LabResultDto> matched = baselineMatched(labs, criterion, windowStart, windowEnd);
+                int[] range = matchedRange(series, criterion, windowStart, windowEnd);
+
+                int afterOffset = random.nextInt(90);
+                int beforeOffset = afterOffset + random.nextInt(40) - 5;
+                boolean expected = baselineBetween(matched, BASE.plusDays(afterOffset), BASE.plusDays(beforeOffset));
+                boolean actual = range[0] < range[1]
+                        && series.lastMatchBetween(criterion, range[0], range[1], day(afterOffset), day(beforeOffset)) >= 0;
+
+                String context = selector + " between day " + afterOffset + " and " + beforeOffset;
+                assertEquals(expected, actual, context);
+                // A negated criterion fires when nothing matched, or nothing matched in between
+                assertEquals(!(!matched.isEmpty() && expected), !actual, "negated " + context);
+            }
+        }
+    }
+
+    /**
+     * The baseline's matchedLabs: every matching lab in the window, most recent first, or just the
+     * selected one for MOST_RECENT / FIRST when it matched.
+     */
+    private static List<LabResultDto> baselineMatched(
+            List<LabResultDto> labs, CompiledCriterion criterion, int windowStart, int windowEnd) {
+        List<LabResultDto> sorted = baselineSorted(baselineWindow(labs, windowStart, windowEnd));
+        List<LabResultDto> selected = switch (criterion.resultSelector()) {
+            case MOST_RECENT -> sorted.isEmpty() ? List.of() : List.of(sorted.get(0));
+            case FIRST -> sorted.isEmpty() ? List.of() : List.of(sorted.get(sorted.size() - 1));
+            default -> sorted;
+        };
+        List<LabResultDto> matched = new ArrayList<>();
+        for (LabResultDto lab : selected) {
+            if (baselineMatches(lab, criterion)) {
+                matched.add(lab);
+            }
+        }
+        return matched;
+    }
+
+    private static LabResultDto baselineRelative(
+            List<LabResultDto> matched, TemporalOperator operator, LocalDate reference, int minDays) {
+        for (LabResultDto lab : matched) {
+            long daysDiff = ChronoUnit.DAYS.between(lab.getResultDate(), reference);
+            boolean valid = switch (operator) {
+                case BEFORE -> daysDiff >= minDays;
+                case AFTER -> daysDiff <= -minDays;
+                case SAME_DAY -> daysDiff == 0;
+            };
+            if (valid) {
+                return lab;
+            }
+        }
+        return null;
+    }
+
+    private static boolean baselineBetween(List<LabResultDto> matched, LocalDate after, LocalDate before) {
+        for (LabResultDto lab : matched) {
+            if (lab.getResultDate().isAfter(after) && lab.getResultDate().isBefore(before)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Matched positions [lo, hi) as SuspectEvaluationService keeps them: the rule window, narrowed to the
+     * selected position (or nothing) for MOST_RECENT / FIRST.
+     */
+    private static int[] matchedRange(LabSeries series, CompiledCriterion criterion, int windowStart, int windowEnd) {
+        int lo = series.lowerBound(day(windowStart));
+        int hi = series.upperBound(day(windowEnd));
+        if (lo >= hi) {
+            return new int[] {lo, lo};
+        }
+        return switch (criterion.resultSelector()) {
+            case MOST_RECENT, FIRST -> {
+                int pos = criterion.resultSelector() == ResultSelector.MOST_RECENT ? hi - 1 : lo;
+                yield new int[] {pos, series.matches(pos, criterion) ? pos + 1 : pos};
+            }
+            default -> new int[] {lo, hi};
+        };
+    }
+
+    private static CompiledCriterion withSelector(CompiledCriterion c, ResultSelector selector) {
+        return new CompiledCriterion(EvidenceType.LAB, c.conceptAlias(), c.qualifier(), selector, c.hasThreshold(),
+                c.threshold(), c.rangeMin(), c.rangeMax(), c.rangeMinInclusive(), c.rangeMaxInclusive(),
+                c.combinationType(), c.negate(), c.captureAs(), c.captureSlot(), c.captureReferenced(),
+                c.temporalConstraint());
+    }
+}
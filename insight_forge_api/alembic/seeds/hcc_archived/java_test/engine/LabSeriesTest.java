@@ -0,0 +1,236 @@
+package com.algoaccel.hcc.engine;
+
+import com.algoaccel.hcc.dto.LabResultDto;
+import com.algoaccel.hcc.model.enums.EvidenceType;
+import com.algoaccel.hcc.model.enums.QualifierType;
+import com.algoaccel.hcc.model.enums.ResultSelector;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * LabSeries against the list scans it replaced: labs sorted most recent first (stable), MOST_RECENT
+ * as the head and FIRST as the tail of that list, and every lab tested with the qualifier in turn.
+ */
+class LabSeriesTest {
+
+    private static final LocalDate BASE = LocalDate.of(2024, 1, 1);
+
+    @Test
+    void mostRecentAndFirstBreakDateTiesInSourceOrder() {
+        // Source order 1..6; three results share the latest date and two the earliest
+        List<LabResultDto> labs = List.of(
+                lab(0, 1), lab(2, 2), lab(2, 3), lab(0, 4), lab(1, 5), lab(2, 6));
+        LabSeries series = LabSeries.of(labs);
+
+        List<LabResultDto> baseline = baselineSorted(labs);
+        assertEquals(baseline.get(0).getQuantitativeResult(), series.exactValue(series.size() - 1));
+        assertEquals(baseline.get(baseline.size() - 1).getQuantitativeResult(), series.exactValue(0));
+        assertEquals(new BigDecimal(2), series.exactValue(series.size() - 1));
+        assertEquals(new BigDecimal(4), series.exactValue(0));
+    }
+
+    @Test
+    void walkingPositionsBackwardsMatchesBaselineOrderWithinAnyWindow() {
+        Random random = new Random(7);
+        for (int round = 0; round < 200; round++) {
+            List<LabResultDto> labs = randomLabs(random, 1 + random.nextInt(60), 20);
+            LabSeries series = LabSeries.of(labs);
+
+            int windowStart = random.nextInt(22) - 1;
+            int windowEnd = windowStart + random.nextInt(22);
+            List<LabResultDto> baseline = baselineSorted(baselineWindow(labs, windowStart, windowEnd));
+
+            int lo = series.lowerBound(day(windowStart));
+            int hi = series.upperBound(day(windowEnd));
+            assertEquals(baseline.size(), Math.max(0, hi - lo));
+            for (int k = 0; k < baseline.size(); k++) {
+                assertEquals(baseline.get(k).getQuantitativeResult(), series.exactValue(hi - 1 - k));
+            }
+            if (!baseline.isEmpty()) {
+                // MOST_RECENT is position hi - 1 and FIRST is position lo
+                assertEquals(baseline.get(0).getQuantitativeResult(), series.exactValue(hi - 1));
+                assertEquals(baseline.get(baseline.size() - 1).getQuantitativeResult(), series.exactValue(lo));
+            }
+        }
+    }
+
+    @Test
+    void boundsFollowDateComparisons() {
+        Random random = new Random(11);
+        LabSeries series = LabSeries.of(randomLabs(random, 100, 30));
+        for (int offset = -2; offset <= 32; offset++) {
+            int day = day(offset);
+            int below = 0;
+            int atOrBelow = 0;
+            for (int pos = 0; pos < series.size(); pos++) {
+                below += series.epochDay(pos) < day ? 1 : 0;
+                atOrBelow += series.epochDay(pos) <= day ? 1 : 0;
+            }
+            assertEquals(below, series.lowerBound(day));
+            assertEquals(atOrBelow, series.upperBound(day));
+        }
+        assertEquals(series.size(), series.upperBound(Integer.MAX_VALUE));
+    }
+
+    @Test
+    void qualifiersMatchBaselineLabValueChecks() {
+        Random random = new Random(3);
+        List<LabResultDto> labs = randomLabs(random, 80, 10);
+        LabSeries series = LabSeries.of(labs);
+        List<LabResultDto> ordered = baselineSorted(labs);
+
+        List<CompiledCriterion> criteria = List.of(
+                criterion(QualifierType.POSITIVE, 0),
+                criterion(QualifierType.NEGATIVE, 0),
+                criterion(QualifierType.GREATER_THAN, 50),
+                criterion(QualifierType.GREATER_THAN_OR_EQUAL, 50),
+                criterion(QualifierType.LESS_THAN, 50),
+                criterion(QualifierType.LESS_THAN_OR_EQUAL, 50),
+                criterion(QualifierType.EQUALS, 50),
+                range(30, 60, true, false),
+                range(30, 60, false, true));
+        for (CompiledCriterion criterion : criteria) {
+            for (int k = 0; k < ordered.size(); k++) {
+                assertEquals(baselineMatches(ordered.get(k), criterion),
+                        series.matches(series.size() - 1 - k, criterion),
+                        criterion.qualifier() + " at " + k);
+            }
+        }
+    }
+
+    @Test
+    void thresholdLookupsOverLongRangesMatchLinearScan() {
+        Random random = new Random(42);
+        // Longer than the 32-position scan limit, with missing values and values equal to the thresholds
+        List<LabResultDto> labs = randomLabs(random, 400, 120);
+        LabSeries series = LabSeries.of(labs);
+        List<LabResultDto> ordered = baselineSorted(labs);
+
+        for (QualifierType qualifier : List.of(QualifierType.GREATER_THAN, QualifierType.GREATER_THAN_OR_EQUAL,
+                QualifierType.LESS_THAN, QualifierType.LESS_THAN_OR_EQUAL)) {
+            for (double threshold : new double[] {-1, 0, 15, 50, 60, 99, 100}) {
+                CompiledCriterion criterion = criterion(qualifier, threshold);
+                for (int round = 0; round < 300; round++) {
+                    int lo = random.nextInt(series.size() + 1);
+                    int hi = lo + random.nextInt(series.size() + 1 - lo);
+                    assertEquals(baselineLastMatch(ordered, series.size(), criterion, lo, hi),
+                            series.lastMatch(criterion, lo, hi),
+                            qualifier + " " + threshold + " in [" + lo + ", " + hi + ")");
+                }
+                assertEquals(baselineLastMatch(ordered, series.size(), criterion, 0, series.size()),
+                        series.lastMatch(criterion, 0, series.size()));
+            }
+        }
+    }
+
+    @Test
+    void emptyRangeHasNoMatch() {
+        LabSeries series = LabSeries.of(List.of(lab(0, 70), lab(1, 80)));
+        CompiledCriterion criterion = criterion(QualifierType.GREATER_THAN, 60);
+        assertEquals(-1, series.lastMatch(criterion, 1, 1));
+        assertEquals(-1, series.lastMatch(criterion, 2, 0));
+        assertEquals(-1, LabSeries.EMPTY.lastMatch(criterion, 0, 0));
+    }
+
+    /**
+     * Position (counted from the oldest) of the first baseline lab, most recent first, in [lo, hi) that matches.
+     */
+    private static int baselineLastMatch(List<LabResultDto> ordered, int size, CompiledCriterion criterion, int lo, int hi) {
+        for (int k = Math.max(0, size - hi); k < size - lo; k++) {
+            if (baselineMatches(ordered.get(k), criterion)) {
+                return size - 1 - k;
+            }
+        }
+        return -1;
+    }
+
+    static List<LabResultDto> baselineSorted(List<LabResultDto> labs) {
+        List<LabResultDto> sorted = new ArrayList<>(labs);
+        sorted.sort((a, b) -> b.getResultDate().compareTo(a.getResultDate()));
+        return sorted;
+    }
+
+    static List<LabResultDto> baselineWindow(List<LabResultDto> labs, int windowStart, int windowEnd) {
+        LocalDate start = BASE.plusDays(windowStart);
+        LocalDate end = BASE.plusDays(windowEnd);
+        return labs.stream()
+                .filter(lab -> !lab.getResultDate().isBefore(start) && !lab.getResultDate().isAfter(end))
+                .toList();
+    }
+
+    static boolean baselineMatches(LabResultDto lab, CompiledCriterion criterion) {
+        QualifierType qualifier = criterion.qualifier();
+        if (qualifier == QualifierType.POSITIVE) {
+            return "POSITIVE".equalsIgnoreCase(lab.getQualitativeResult());
+        } else if (qualifier == QualifierType.NEGATIVE) {
+            return "NEGATIVE".equalsIgnoreCase(lab.getQualitativeResult());
+        } else if (lab.getQuantitativeResult() == null) {
+            return false;
+        }
+        double value = lab.getQuantitativeResult().doubleValue();
+        if (qualifier == QualifierType.RANGE) {
+            boolean meetsMin = criterion.rangeMinInclusive() ? value >= criterion.rangeMin() : value > criterion.rangeMin();
+            boolean meetsMax = criterion.rangeMaxInclusive() ? value <= criterion.rangeMax() : value < criterion.rangeMax();
+            return meetsMin && meetsMax;
+        }
+        double threshold = criterion.threshold();
+        return switch (qualifier) {
+            case GREATER_THAN -> value > threshold;
+            case GREATER_THAN_OR_EQUAL -> value >= threshold;
+            case LESS_THAN -> value < threshold;
+            case LESS_THAN_OR_EQUAL -> value <= threshold;
+            case EQUALS -> value == threshold;
+            default -> false;
+        };
+    }
+
+    /**
+     * Labs on days [0, days) with ties, about 10% missing values and integer values in [0, 100].
+     * Each value's scale is its source index, so equal values stay distinguishable by equals().
+     */
+    static List<LabResultDto> randomLabs(Random random, int count, int days) {
+        List<LabResultDto> labs = new ArrayList<>(count);
+        String[] qualitative = {"POSITIVE", "negative", "Indeterminate", null};
+        for (int i = 0; i < count; i++) {
+            BigDecimal value = random.nextInt(10) == 0 ? null : BigDecimal.valueOf(random.nextInt(101));
+            labs.add(LabResultDto.builder()
+                    .patientId("P1")
+                    .conceptAlias("egfr")
+                    .resultDate(BASE.plusDays(random.nextInt(days)))
+                    .qualitativeResult(qualitative[random.nextInt(qualitative.length)])
+                    .quantitativeResult(value == null ? null : value.setScale(i))
+                    .build());
+        }
+        return labs;
+    }
+
+    static LabResultDto lab(int dayOffset, int value) {
+        return LabResultDto.builder()
+                .patientId("P1")
+                .conceptAlias("egfr")
+                .resultDate(BASE.plusDays(dayOffset))
+                .quantitativeResult(new BigDecimal(value))
+                .build();
+    }
+
+    static int day(int offset) {
+        return (int) BASE.plusDays(offset).toEpochDay();
+    }
+
+    static CompiledCriterion criterion(QualifierType qualifier, double threshold) {
+        return new CompiledCriterion(EvidenceType.LAB, "egfr", qualifier, ResultSelector.ANY, true, threshold,
+                0, 0, false, false, null, false, null, -1, false, null);
+    }
+
+    static CompiledCriterion range(double min, double max, boolean minInclusive, boolean maxInclusive) {
+        return new CompiledCriterion(EvidenceType.LAB, "egfr", QualifierType.RANGE, ResultSelector.ANY, false, 0,
+                min, max, minInclusive, maxInclusive, null, false, null, -1, false, null);
+    }
+}
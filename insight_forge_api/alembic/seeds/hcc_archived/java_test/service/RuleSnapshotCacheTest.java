@@ -0,0 +1,120 @@
+package com.algoaccel.hcc.service;
+
+import com.algoaccel.hcc.config.HccRuleSnapshotProperties;
+import com.algoaccel.hcc.dto.RuleSnapshotFingerprint;
+import com.algoaccel.hcc.engine.CompiledRule;
+import com.algoaccel.hcc.engine.RuleCompiler;
+import com.algoaccel.hcc.model.HccSuspectRule;
+import com.algoaccel.hcc.model.StratificationTier;
+import com.algoaccel.hcc.model.enums.HccRuleStatus;
+import com.algoaccel.hcc.model.enums.TierType;
+import com.algoaccel.hcc.repository.HccSuspectRuleRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tier edits that leave the rule version alone (other instances, direct SQL) must reach evaluation
+ * through both the published snapshot and EffectiveRuleCache.
+ */
+class RuleSnapshotCacheTest {
+
+    private static final long RULE_ID = 1L;
+
+    private final HccSuspectRuleRepository ruleRepository = mock(HccSuspectRuleRepository.class);
+    private final HccRuleService hccRuleService = mock(HccRuleService.class);
+    private final TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+
+    private HccSuspectRule rule;
+    private StratificationTier tier;
+    private EffectiveRuleCache effectiveRuleCache;
+    private RuleSnapshotCache snapshotCache;
+
+    @BeforeEach
+    void setUp() {
+        tier = StratificationTier.builder()
+                .id(10L)
+                .tierType(TierType.HIGHLY_SUSPECTED)
+                .minimumBranchesRequired(1)
+                .criteriaJson(criteria(60))
+                .version(1)
+                .build();
+        rule = HccSuspectRule.builder()
+                .id(RULE_ID)
+                .name("CKD stage 3")
+                .hccCategory("HCC 138")
+                .conditionName("Chronic kidney disease, stage 3")
+                .status(HccRuleStatus.PUBLISHED)
+                .version(3)
+                .build();
+        rule.addTier(tier);
+
+        // The database as other instances see it: always the rule's current state
+        when(ruleRepository.findSnapshotFingerprints(any(), eq(RULE_ID)))
+                .thenAnswer(invocation -> List.of(RuleSnapshotFingerprint.of(rule)));
+        when(ruleRepository.findSnapshotFingerprints(eq(HccRuleStatus.PUBLISHED), isNull()))
+                .thenAnswer(invocation -> List.of(RuleSnapshotFingerprint.of(rule)));
+        when(hccRuleService.findByStatusWithTiers(HccRuleStatus.PUBLISHED)).thenAnswer(invocation -> List.of(rule));
+        when(hccRuleService.getRuleWithTiers(RULE_ID)).thenAnswer(invocation -> Optional.of(rule));
+        when(transactionTemplate.execute(any())).thenAnswer(
+                invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+
+        HccRuleSnapshotProperties properties = new HccRuleSnapshotProperties();
+        RuleCompiler ruleCompiler = new RuleCompiler(new ObjectMapper());
+        effectiveRuleCache = new EffectiveRuleCache(hccRuleService, ruleRepository, ruleCompiler, properties);
+        snapshotCache = new RuleSnapshotCache(
+                ruleRepository, hccRuleService, effectiveRuleCache, transactionTemplate, properties);
+    }
+
+    @Test
+    void reloadUsesTierEditedWithoutRuleVersionChange() {
+        snapshotCache.reload();
+        assertEquals(60, threshold(snapshotCache.find(RULE_ID, null).orElseThrow()));
+
+        editTier(45);
+        snapshotCache.checkVersions();
+
+        CompiledRule reloaded = snapshotCache.find(RULE_ID, null).orElseThrow();
+        assertEquals(3, reloaded.version());
+        assertEquals(45, threshold(reloaded));
+    }
+
+    @Test
+    void effectiveRuleCacheUsesTierEditedWithoutRuleVersionChange() {
+        rule.setStatus(HccRuleStatus.DRAFT);
+        assertEquals(60, threshold(effectiveRuleCache.get(RULE_ID, null)));
+
+        editTier(45);
+
+        assertEquals(45, threshold(effectiveRuleCache.get(RULE_ID, null)));
+    }
+
+    /**
+     * What another instance's tier update leaves in the database: new criteria and tier @Version only.
+     */
+    private void editTier(double threshold) {
+        tier.setCriteriaJson(criteria(threshold));
+        tier.setVersion(tier.getVersion() + 1);
+    }
+
+    private static double threshold(CompiledRule compiled) {
+        return compiled.highlySuspected().branches().get(0).criteria().get(0).threshold();
+    }
+
+    private static String criteria(double threshold) {
+        return "[{\"branchId\": \"egfr\", \"logic\": \"AND\", \"criteria\": [{\"type\": \"LAB\", "
+                + "\"conceptAlias\": \"egfr\", \"qualifier\": \"LESS_THAN\", \"threshold\": " + threshold + "}]}]";
+    }
+}